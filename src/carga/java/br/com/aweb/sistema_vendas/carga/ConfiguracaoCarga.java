@@ -0,0 +1,61 @@
+package br.com.aweb.sistema_vendas.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Parâmetros de uma execução do teste de carga, lidos das propriedades de sistema -Dcarga.*
+// (o perfil "carga" do pom repassa as propriedades do Maven com os mesmos nomes)
+record ConfiguracaoCarga(
+        // "h2" (banco em memória dos testes) ou "postgres" (banco local, esquema pelo Flyway)
+        String banco,
+        String jdbcUrl,
+        String jdbcUsuario,
+        @JsonIgnore String jdbcSenha,
+        // Volumes gerados antes da carga
+        int clientes,
+        int produtos,
+        int pedidosHistoricos,
+        // Usuários simultâneos, cada um com sua sessão, repetindo o fluxo de venda sem pausa
+        int usuarios,
+        Duration aquecimento,
+        Duration duracao,
+        // Modo de execução do servidor (spring.threads.virtual.enabled), para comparar os dois
+        boolean threadsVirtuais,
+        String login,
+        @JsonIgnore String senha,
+        // Mesma semente, mesmos dados e mesma sequência de escolhas de cada usuário
+        long semente,
+        Path pastaRelatorios,
+        // Relatório JSON de uma execução anterior para comparar com esta (opcional)
+        Path relatorioBase) {
+
+    static ConfiguracaoCarga doSistema() {
+        String base = System.getProperty("carga.base", "");
+        return new ConfiguracaoCarga(
+                System.getProperty("carga.banco", "h2"),
+                System.getProperty("carga.jdbc-url", "jdbc:postgresql://localhost:5432/sistema_vendas"),
+                System.getProperty("carga.jdbc-usuario", "usuario"),
+                System.getProperty("carga.jdbc-senha", "senha123"),
+                Integer.getInteger("carga.clientes", 10_000),
+                Integer.getInteger("carga.produtos", 1_000),
+                Integer.getInteger("carga.pedidos", 50_000),
+                Integer.getInteger("carga.usuarios", 20),
+                Duration.ofSeconds(Long.getLong("carga.aquecimento", 15L)),
+                Duration.ofSeconds(Long.getLong("carga.duracao", 60L)),
+                Boolean.parseBoolean(System.getProperty("carga.threads-virtuais", "false")),
+                System.getProperty("carga.login", "aluno"),
+                System.getProperty("carga.senha", "123"),
+                Long.getLong("carga.semente", 42L),
+                Path.of(System.getProperty("carga.pasta", "target/carga")),
+                base.isBlank() ? null : Path.of(base));
+    }
+
+    boolean postgres() {
+        if (!banco.equals("h2") && !banco.equals("postgres")) {
+            throw new IllegalArgumentException("carga.banco deve ser h2 ou postgres: " + banco);
+        }
+        return banco.equals("postgres");
+    }
+}
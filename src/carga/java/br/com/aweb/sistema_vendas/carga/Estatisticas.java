@@ -0,0 +1,79 @@
+package br.com.aweb.sistema_vendas.carga;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Latências e erros por operação, registrados pelos usuários virtuais.
+// Histogramas HdrHistogram (já no classpath pelo Micrometer): percentis com 3 dígitos
+// significativos e memória fixa, qualquer que seja o número de requisições.
+class Estatisticas {
+
+    private static final long LATENCIA_MAXIMA = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Operacao> operacoes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> erros = new ConcurrentHashMap<>();
+
+    // Só conta depois do aquecimento
+    private volatile boolean medindo;
+
+    private static class Operacao {
+        final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA, 3);
+        final LongAdder falhas = new LongAdder();
+    }
+
+    void iniciarMedicao() {
+        medindo = true;
+    }
+
+    void encerrarMedicao() {
+        medindo = false;
+    }
+
+    void sucesso(String operacao, long nanos) {
+        if (medindo) {
+            operacao(operacao).latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), LATENCIA_MAXIMA));
+        }
+    }
+
+    // A requisição com erro também entra na latência da operação: lenta e errada conta como lenta
+    void falha(String operacao, long nanos, String motivo) {
+        if (medindo) {
+            Operacao dados = operacao(operacao);
+            dados.latencias.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), LATENCIA_MAXIMA));
+            dados.falhas.increment();
+            erros.computeIfAbsent(operacao + ": " + motivo, m -> new LongAdder()).increment();
+        }
+    }
+
+    private Operacao operacao(String nome) {
+        return operacoes.computeIfAbsent(nome, n -> new Operacao());
+    }
+
+    // Resumo de cada operação e do total, em ordem alfabética
+    Map<String, RelatorioCarga.ResultadoOperacao> resultados(double segundos) {
+        Map<String, RelatorioCarga.ResultadoOperacao> resultados = new TreeMap<>();
+        Histogram total = new Histogram(LATENCIA_MAXIMA, 3);
+        long falhasTotal = 0;
+        for (Map.Entry<String, Operacao> entrada : operacoes.entrySet()) {
+            Histogram latencias = entrada.getValue().latencias.copy();
+            long falhas = entrada.getValue().falhas.sum();
+            resultados.put(entrada.getKey(), RelatorioCarga.ResultadoOperacao.de(latencias, falhas, segundos));
+            total.add(latencias);
+            falhasTotal += falhas;
+        }
+        resultados.put(RelatorioCarga.TOTAL, RelatorioCarga.ResultadoOperacao.de(total, falhasTotal, segundos));
+        return resultados;
+    }
+
+    Map<String, Long> erros() {
+        Map<String, Long> contagem = new TreeMap<>();
+        erros.forEach((motivo, quantidade) -> contagem.put(motivo, quantidade.sum()));
+        return contagem;
+    }
+}
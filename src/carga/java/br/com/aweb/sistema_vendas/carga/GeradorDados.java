@@ -0,0 +1,247 @@
+package br.com.aweb.sistema_vendas.carga;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.config.CacheConfig;
+import br.com.aweb.sistema_vendas.dados.GeradorCpf;
+import br.com.aweb.sistema_vendas.service.BuscaProdutoService;
+import br.com.aweb.sistema_vendas.service.RelatorioVendasService;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService.Catalogo;
+import jakarta.persistence.EntityManagerFactory;
+
+// Popula o banco com clientes, produtos e um histórico de pedidos sintéticos, em lotes JDBC.
+// Os ids saem das mesmas sequências das entidades: cada nextval reserva um bloco inteiro
+// (allocationSize = 50, pooled-lo), então as linhas geradas nunca colidem com as da aplicação.
+class GeradorDados {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDados.class);
+
+    private static final int BLOCO_SEQUENCIA = 50;
+    private static final int TAMANHO_LOTE = 1000;
+
+    private static final String[] NOMES = { "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia",
+            "Thiago", "Vanessa", "William" };
+    private static final String[] SOBRENOMES = { "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida" };
+    private static final String[][] CIDADES = { { "São Paulo", "SP" }, { "Campinas", "SP" }, { "Santos", "SP" },
+            { "Rio de Janeiro", "RJ" }, { "Niterói", "RJ" }, { "Belo Horizonte", "MG" }, { "Uberlândia", "MG" },
+            { "Curitiba", "PR" }, { "Porto Alegre", "RS" }, { "Florianópolis", "SC" }, { "Salvador", "BA" },
+            { "Recife", "PE" }, { "Fortaleza", "CE" }, { "Goiânia", "GO" }, { "Manaus", "AM" }, { "Belém", "PA" } };
+    private static final String[] CATEGORIAS = { "Caderno", "Caneta", "Mochila", "Estojo", "Agenda", "Lápis",
+            "Marca-texto", "Fichário", "Calculadora", "Régua" };
+
+    private static final String SQL_CLIENTE = """
+            insert into clientes (id, nome, email, cpf, telefone, logradouro, numero, complemento, bairro, cidade, uf, cep)
+            values (?, ?, ?, ?, ?, ?, ?, null, ?, ?, ?, ?)
+            on conflict do nothing
+            """;
+    private static final String SQL_PRODUTO = """
+            insert into produtos (id, nome, descricao, preco, quantidade_em_estoque)
+            values (?, ?, ?, ?, ?)
+            """;
+    private static final String SQL_PEDIDO = """
+            insert into pedidos (id, cliente_id, data_pedido, valor_total, status, version)
+            values (?, ?, ?, ?, ?, 0)
+            """;
+    private static final String SQL_REGIAO_FINALIZADOS = """
+            update pedidos
+            set uf = (select c.uf from clientes c where c.id = pedidos.cliente_id),
+                cidade = (select c.cidade from clientes c where c.id = pedidos.cliente_id)
+            where status = 'FINALIZADO' and uf is null
+            """;
+    private static final String SQL_ITEM = """
+            insert into itens_pedido (id, pedido_id, produto_id, quantidade, preco_unitario)
+            values (?, ?, ?, ?, ?)
+            """;
+
+    private final ApplicationContext contexto;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SplittableRandom aleatorio;
+
+    GeradorDados(ApplicationContext contexto, long semente) {
+        this.contexto = contexto;
+        this.jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        this.transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        this.aleatorio = new SplittableRandom(semente);
+    }
+
+    // Ids e preços gerados, usados depois pelos usuários virtuais
+    record DadosCarga(long[] clienteIds, long[] produtoIds, BigDecimal[] precos) {
+    }
+
+    DadosCarga gerar(ConfiguracaoCarga configuracao) {
+        long inicio = System.nanoTime();
+        long[] clienteIds = gerarClientes(configuracao.clientes());
+        long[] produtoIds = reservarIds("produtos_seq", configuracao.produtos());
+        BigDecimal[] precos = gerarProdutos(produtoIds);
+        if (clienteIds.length == 0 || produtoIds.length == 0) {
+            throw new IllegalArgumentException("A carga precisa de pelo menos um cliente e um produto");
+        }
+        gerarPedidos(configuracao.pedidosHistoricos(), clienteIds, produtoIds, precos);
+        prepararAplicacao();
+        log.info("Dados de carga gerados em {} s: {} cliente(s), {} produto(s), {} pedido(s) históricos",
+                (System.nanoTime() - inicio) / 1_000_000_000, clienteIds.length, produtoIds.length,
+                configuracao.pedidosHistoricos());
+        return new DadosCarga(clienteIds, produtoIds, precos);
+    }
+
+    private long[] gerarClientes(int quantidade) {
+        long[] ids = reservarIds("clientes_seq", quantidade);
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        List<Long> inseridos = new ArrayList<>(quantidade);
+        for (long id : ids) {
+            String[] cidade = CIDADES[aleatorio.nextInt(CIDADES.length)];
+            // CPF e e-mail derivados do id: únicos também entre execuções no mesmo banco
+            lote.add(new Object[] {
+                    id,
+                    NOMES[aleatorio.nextInt(NOMES.length)] + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)]
+                            + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)],
+                    "cliente" + id + "@carga.local",
+                    GeradorCpf.gerar(id),
+                    "11" + (900_000_000 + aleatorio.nextInt(100_000_000)),
+                    "Rua " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)],
+                    String.valueOf(1 + aleatorio.nextInt(2000)),
+                    "Centro",
+                    cidade[0],
+                    cidade[1],
+                    String.format("%08d", aleatorio.nextInt(100_000_000)) });
+            if (lote.size() == TAMANHO_LOTE) {
+                gravarClientes(lote, inseridos);
+            }
+        }
+        gravarClientes(lote, inseridos);
+        return inseridos.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // CPF que já exista no banco (cadastro real) faz a linha ser ignorada; só os inseridos seguem
+    private void gravarClientes(List<Object[]> lote, List<Long> inseridos) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        int[] resultados = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(SQL_CLIENTE, lote));
+        for (int i = 0; i < resultados.length; i++) {
+            if (resultados[i] != 0) {
+                inseridos.add((Long) lote.get(i)[0]);
+            }
+        }
+        lote.clear();
+    }
+
+    private BigDecimal[] gerarProdutos(long[] ids) {
+        BigDecimal[] precos = new BigDecimal[ids.length];
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < ids.length; i++) {
+            String categoria = CATEGORIAS[aleatorio.nextInt(CATEGORIAS.length)];
+            precos[i] = BigDecimal.valueOf(100 + aleatorio.nextInt(50_000), 2);
+            // Estoque de sobra: a carga mede o fluxo de venda, não a falta de produto
+            lote.add(new Object[] { ids[i], categoria + " " + ids[i], categoria + " gerado para o teste de carga",
+                    precos[i], 1_000_000_000 });
+            if (lote.size() == TAMANHO_LOTE) {
+                gravar(SQL_PRODUTO, lote);
+            }
+        }
+        gravar(SQL_PRODUTO, lote);
+        return precos;
+    }
+
+    // Pedidos do último ano: a maior parte finalizada, alguns cancelados e poucos ainda ativos
+    private void gerarPedidos(int quantidade, long[] clienteIds, long[] produtoIds, BigDecimal[] precos) {
+        LocalDateTime agora = LocalDateTime.now();
+        long[] pedidoIds = reservarIds("pedidos_seq", quantidade);
+        List<Object[]> pedidos = new ArrayList<>(TAMANHO_LOTE);
+        List<Object[]> itens = new ArrayList<>(TAMANHO_LOTE * 3);
+        List<Object[]> linhas = new ArrayList<>(5);
+
+        for (long pedidoId : pedidoIds) {
+            int quantidadeItens = 1 + aleatorio.nextInt(5);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < quantidadeItens; i++) {
+                int produto = aleatorio.nextInt(produtoIds.length);
+                int unidades = 1 + aleatorio.nextInt(3);
+                total = total.add(precos[produto].multiply(BigDecimal.valueOf(unidades)));
+                linhas.add(new Object[] { null, pedidoId, produtoIds[produto], unidades, precos[produto] });
+            }
+            int sorteio = aleatorio.nextInt(100);
+            String status = sorteio < 75 ? "FINALIZADO" : sorteio < 95 ? "CANCELADO" : "ATIVO";
+            LocalDateTime data = agora.minusMinutes(aleatorio.nextLong(365L * 24 * 60));
+            pedidos.add(new Object[] { pedidoId, clienteIds[aleatorio.nextInt(clienteIds.length)],
+                    Timestamp.valueOf(data), total, status });
+            itens.addAll(linhas);
+            linhas.clear();
+
+            if (pedidos.size() == TAMANHO_LOTE) {
+                gravarPedidos(pedidos, itens);
+            }
+        }
+        gravarPedidos(pedidos, itens);
+    }
+
+    private void gravarPedidos(List<Object[]> pedidos, List<Object[]> itens) {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        long[] itemIds = reservarIds("itens_pedido_seq", itens.size());
+        for (int i = 0; i < itemIds.length; i++) {
+            itens.get(i)[0] = itemIds[i];
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(SQL_PEDIDO, pedidos);
+            jdbcTemplate.batchUpdate(SQL_ITEM, itens);
+        });
+        pedidos.clear();
+        itens.clear();
+    }
+
+    private void gravar(String sql, List<Object[]> lote) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, lote));
+        lote.clear();
+    }
+
+    // Um nextval por bloco de BLOCO_SEQUENCIA ids, como o otimizador pooled-lo do Hibernate
+    private long[] reservarIds(String sequencia, int quantidade) {
+        long[] ids = new long[quantidade];
+        int preenchidos = 0;
+        while (preenchidos < quantidade) {
+            long inicioBloco = jdbcTemplate.queryForObject("select nextval('" + sequencia + "')", Long.class);
+            int tamanho = Math.min(BLOCO_SEQUENCIA, quantidade - preenchidos);
+            for (int i = 0; i < tamanho; i++) {
+                ids[preenchidos++] = inicioBloco + i;
+            }
+        }
+        return ids;
+    }
+
+    // Os INSERTs não passam pelo Hibernate nem pelos serviços: refaz o que a aplicação mantém
+    // a partir das escritas normais (resumos de vendas, índice de busca, caches e versões)
+    private void prepararAplicacao() {
+        // Finalizados levam a região do cliente, como faria o PedidoService.finalizarPedido
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(SQL_REGIAO_FINALIZADOS));
+        contexto.getBean(RelatorioVendasService.class).reconstruir();
+        contexto.getBean(BuscaProdutoService.class).reconstruir();
+        contexto.getBean(EntityManagerFactory.class).getCache().unwrap(org.hibernate.Cache.class).evictAllRegions();
+        CacheManager caches = contexto.getBean(CacheManager.class);
+        caches.getCache(CacheConfig.PRODUTOS).clear();
+        caches.getCache(CacheConfig.CATALOGO_PRODUTOS).clear();
+        VersaoCatalogoService versoes = contexto.getBean(VersaoCatalogoService.class);
+        Arrays.stream(Catalogo.values()).forEach(versoes::alterado);
+    }
+}
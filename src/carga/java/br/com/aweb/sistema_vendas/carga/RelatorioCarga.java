@@ -0,0 +1,112 @@
+package br.com.aweb.sistema_vendas.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+// Resultado de uma execução, gravado em JSON (um arquivo por execução, sempre no mesmo formato)
+// junto com a configuração e o ambiente, para que duas execuções possam ser comparadas
+record RelatorioCarga(
+        LocalDateTime inicio,
+        ConfiguracaoCarga configuracao,
+        Ambiente ambiente,
+        double segundosMedidos,
+        Map<String, ResultadoOperacao> operacoes,
+        Map<String, Long> erros) {
+
+    static final String TOTAL = "total";
+
+    private static final DateTimeFormatter NOME_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    record Ambiente(String java, int processadores, long memoriaMaximaMb, String sistema) {
+
+        static Ambiente atual() {
+            Runtime runtime = Runtime.getRuntime();
+            return new Ambiente(System.getProperty("java.vm.name") + " " + Runtime.version(),
+                    runtime.availableProcessors(), runtime.maxMemory() / (1024 * 1024),
+                    System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        }
+    }
+
+    // Latências em milissegundos; taxaErro entre 0 e 1
+    record ResultadoOperacao(long requisicoes, long erros, double taxaErro, double porSegundo,
+            double media, double p50, double p90, double p95, double p99, double maxima) {
+
+        static ResultadoOperacao de(Histogram latencias, long erros, double segundos) {
+            long requisicoes = latencias.getTotalCount();
+            return new ResultadoOperacao(requisicoes, erros,
+                    requisicoes == 0 ? 0 : (double) erros / requisicoes,
+                    requisicoes / segundos,
+                    latencias.getMean() / 1000.0,
+                    latencias.getValueAtPercentile(50) / 1000.0,
+                    latencias.getValueAtPercentile(90) / 1000.0,
+                    latencias.getValueAtPercentile(95) / 1000.0,
+                    latencias.getValueAtPercentile(99) / 1000.0,
+                    latencias.getMaxValue() / 1000.0);
+        }
+    }
+
+    private static ObjectMapper json() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    Path gravar() throws IOException {
+        Files.createDirectories(configuracao.pastaRelatorios());
+        Path arquivo = configuracao.pastaRelatorios().resolve("carga-" + NOME_ARQUIVO.format(inicio) + ".json");
+        json().writeValue(arquivo.toFile(), this);
+        return arquivo;
+    }
+
+    static RelatorioCarga ler(Path arquivo) throws IOException {
+        return json().readValue(arquivo.toFile(), RelatorioCarga.class);
+    }
+
+    void imprimir(PrintStream saida) {
+        saida.printf(Locale.ROOT, "%nCarga: %d usuário(s), %.0f s medidos, banco %s, threads %s%n",
+                configuracao.usuarios(), segundosMedidos, configuracao.banco(),
+                configuracao.threadsVirtuais() ? "virtuais" : "de plataforma");
+        saida.printf(Locale.ROOT, "%-18s %9s %8s %8s %9s %9s %9s %9s %9s%n",
+                "operação", "req", "req/s", "erros", "p50 ms", "p90 ms", "p99 ms", "máx ms", "média ms");
+        operacoes.forEach((nome, r) -> saida.printf(Locale.ROOT, "%-18s %9d %8.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                nome, r.requisicoes(), r.porSegundo(), r.taxaErro() * 100, r.p50(), r.p90(), r.p99(), r.maxima(),
+                r.media()));
+        if (!erros.isEmpty()) {
+            saida.println("\nErros:");
+            erros.forEach((motivo, quantidade) -> saida.printf("  %6d  %s%n", quantidade, motivo));
+        }
+    }
+
+    // Variação de vazão e p99 em relação a uma execução anterior (positivo = mais req/s ou mais lento)
+    void comparar(RelatorioCarga base, PrintStream saida) {
+        saida.printf("%nComparação com a execução de %s (%d usuário(s), threads %s):%n", base.inicio(),
+                base.configuracao().usuarios(), base.configuracao().threadsVirtuais() ? "virtuais" : "de plataforma");
+        saida.printf(Locale.ROOT, "%-18s %10s %10s %9s %10s %10s %9s%n",
+                "operação", "req/s base", "req/s", "var", "p99 base", "p99", "var");
+        operacoes.forEach((nome, atual) -> {
+            ResultadoOperacao anterior = base.operacoes().get(nome);
+            if (anterior != null) {
+                saida.printf(Locale.ROOT, "%-18s %10.1f %10.1f %+8.1f%% %10.1f %10.1f %+8.1f%%%n", nome,
+                        anterior.porSegundo(), atual.porSegundo(), variacao(anterior.porSegundo(), atual.porSegundo()),
+                        anterior.p99(), atual.p99(), variacao(anterior.p99(), atual.p99()));
+            }
+        });
+    }
+
+    private static double variacao(double anterior, double atual) {
+        return anterior == 0 ? 0 : (atual - anterior) / anterior * 100;
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.aweb.sistema_vendas.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.aweb.sistema_vendas.SistemaVendasApplication;
+import br.com.aweb.sistema_vendas.carga.GeradorDados.DadosCarga;
+
+// Teste de carga do fluxo de venda: sobe a aplicação numa porta livre, gera os dados e coloca
+// N usuários simultâneos no fluxo HTTP completo. Ao fim imprime e grava o relatório da execução.
+// Tudo local: banco H2 em memória (padrão) ou o PostgreSQL do docker-compose (carga.banco=postgres).
+// Cliente e servidor dividem a máquina; os usuários são threads virtuais sobre um só HttpClient, bem leves.
+public final class TesteCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(TesteCarga.class);
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.doSistema();
+
+        try (ConfigurableApplicationContext contexto = iniciarAplicacao(configuracao)) {
+            DadosCarga dados = new GeradorDados(contexto, configuracao.semente()).gerar(configuracao);
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+
+            RelatorioCarga relatorio = executar(URI.create("http://localhost:" + porta), configuracao, dados);
+            Path arquivo = relatorio.gravar();
+            relatorio.imprimir(System.out);
+            if (configuracao.relatorioBase() != null) {
+                relatorio.comparar(RelatorioCarga.ler(configuracao.relatorioBase()), System.out);
+            }
+            System.out.println("\nRelatório: " + arquivo.toAbsolutePath());
+        }
+    }
+
+    // Argumentos de linha de comando: prevalecem sobre o application.properties dos testes
+    private static ConfigurableApplicationContext iniciarAplicacao(ConfiguracaoCarga configuracao) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.br.com.aweb.sistema_vendas.carga=INFO",
+                "--spring.threads.virtual.enabled=" + configuracao.threadsVirtuais(),
+                // Como em produção: o outbox é despachado durante a carga
+                "--vendas.outbox.cron=* * * * * *"));
+        if (configuracao.postgres()) {
+            argumentos.addAll(List.of(
+                    "--spring.datasource.url=" + configuracao.jdbcUrl(),
+                    "--spring.datasource.username=" + configuracao.jdbcUsuario(),
+                    "--spring.datasource.password=" + configuracao.jdbcSenha(),
+                    "--spring.flyway.enabled=true",
+                    "--spring.jpa.hibernate.ddl-auto=validate"));
+        }
+        return new SpringApplicationBuilder(SistemaVendasApplication.class).run(argumentos.toArray(String[]::new));
+    }
+
+    private static RelatorioCarga executar(URI base, ConfiguracaoCarga configuracao, DadosCarga dados)
+            throws InterruptedException {
+        LocalDateTime inicio = LocalDateTime.now();
+        Estatisticas estatisticas = new Estatisticas();
+        SplittableRandom sementes = new SplittableRandom(configuracao.semente());
+        double segundos;
+        try (HttpClient http = UsuarioVirtual.novoCliente()) {
+            List<UsuarioVirtual> usuarios = new ArrayList<>();
+            for (int i = 0; i < configuracao.usuarios(); i++) {
+                usuarios.add(new UsuarioVirtual(http, base, configuracao, dados, estatisticas, sementes.split()));
+            }
+
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            usuarios.forEach(executor::execute);
+
+            log.info("Aquecimento: {} s com {} usuário(s)", configuracao.aquecimento().toSeconds(), usuarios.size());
+            Thread.sleep(configuracao.aquecimento());
+
+            log.info("Medindo por {} s", configuracao.duracao().toSeconds());
+            long medicao = System.nanoTime();
+            estatisticas.iniciarMedicao();
+            Thread.sleep(configuracao.duracao());
+            estatisticas.encerrarMedicao();
+            segundos = (System.nanoTime() - medicao) / 1e9;
+
+            usuarios.forEach(UsuarioVirtual::parar);
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        }
+
+        return new RelatorioCarga(inicio, configuracao, RelatorioCarga.Ambiente.atual(), segundos,
+                estatisticas.resultados(segundos), estatisticas.erros());
+    }
+}
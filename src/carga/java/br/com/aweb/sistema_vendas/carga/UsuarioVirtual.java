@@ -0,0 +1,231 @@
+package br.com.aweb.sistema_vendas.carga;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import br.com.aweb.sistema_vendas.carga.GeradorDados.DadosCarga;
+
+// Um vendedor: faz login pelo formulário do Spring Security e repete o fluxo de venda pelas
+// mesmas telas do navegador (PedidoController), sem pausa entre as requisições:
+// cria o pedido, adiciona uma cesta de itens, remove um deles e finaliza (ou cancela).
+// O HttpClient (e o pool de conexões) é o mesmo para todos os usuários; os cookies, como os de
+// um navegador, são de cada um.
+class UsuarioVirtual implements Runnable {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+    private static final Pattern PEDIDO_CRIADO = Pattern.compile("/pedidos/edit/(\\d+)$");
+    private static final Pattern REMOVER_ITEM = Pattern.compile("/remover-item/(\\d+)\"");
+
+    private static final Duration TEMPO_LIMITE = Duration.ofSeconds(30);
+
+    private final URI base;
+    private final ConfiguracaoCarga configuracao;
+    private final DadosCarga dados;
+    private final Estatisticas estatisticas;
+    private final SplittableRandom aleatorio;
+    private final HttpClient http;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+    private volatile boolean ativo = true;
+    private String csrf;
+
+    UsuarioVirtual(HttpClient http, URI base, ConfiguracaoCarga configuracao, DadosCarga dados,
+            Estatisticas estatisticas, SplittableRandom aleatorio) {
+        this.http = http;
+        this.base = base;
+        this.configuracao = configuracao;
+        this.dados = dados;
+        this.estatisticas = estatisticas;
+        this.aleatorio = aleatorio;
+    }
+
+    // Cliente compartilhado: sem cookies próprios (cada usuário envia os seus) e sem seguir
+    // redirecionamentos, que o próprio fluxo confere
+    static HttpClient novoCliente() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(TEMPO_LIMITE)
+                .build();
+    }
+
+    void parar() {
+        ativo = false;
+    }
+
+    @Override
+    public void run() {
+        while (ativo) {
+            try {
+                if (csrf == null) {
+                    entrar();
+                }
+                venda();
+            } catch (FalhaFluxo e) {
+                // Já registrada; a sessão pode ter caído, então refaz o login
+                csrf = null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void entrar() throws FalhaFluxo, InterruptedException {
+        String paginaLogin = esperar("tela de login", get("/login"), 200).body();
+        HttpResponse<String> login = esperar("login", post("/login", formulario(
+                "username", configuracao.login(),
+                "password", configuracao.senha(),
+                "_csrf", csrf(paginaLogin))), 302);
+        if (localizacao(login).contains("error")) {
+            throw falha("login", 0, "usuário ou senha recusados");
+        }
+        // O token muda com a autenticação: pega o da sessão nova
+        csrf = csrf(esperar("novo pedido (tela)", get("/pedidos/novo"), 200).body());
+    }
+
+    private void venda() throws FalhaFluxo, InterruptedException {
+        long clienteId = dados.clienteIds()[aleatorio.nextInt(dados.clienteIds().length)];
+        HttpResponse<String> criado = esperar("criar pedido",
+                post("/pedidos/novo", formulario("clienteId", clienteId, "_csrf", csrf)), 302);
+        Matcher id = PEDIDO_CRIADO.matcher(localizacao(criado));
+        if (!id.find()) {
+            throw falha("criar pedido", 0, "redirecionou para " + localizacao(criado));
+        }
+        String pedido = "/pedidos/" + id.group(1);
+
+        // Cesta de 2 a 4 produtos distintos; depois um deles sai, e o pedido nunca fica vazio
+        long[] produtos = dados.produtoIds();
+        int itens = Math.min(produtos.length, 2 + aleatorio.nextInt(3));
+        int primeiro = aleatorio.nextInt(produtos.length);
+        List<Object> cesta = new ArrayList<>();
+        for (int i = 0; i < itens; i++) {
+            cesta.add("produtoId");
+            cesta.add(produtos[(primeiro + i) % produtos.length]);
+            cesta.add("quantidade");
+            cesta.add(1 + aleatorio.nextInt(3));
+        }
+        cesta.add("_csrf");
+        cesta.add(csrf);
+        esperar("adicionar itens", post(pedido + "/adicionar-itens", formulario(cesta.toArray())), 302);
+
+        String edicao = esperar("editar pedido", get("/pedidos/edit/" + id.group(1)), 200).body();
+        Matcher item = REMOVER_ITEM.matcher(edicao);
+        if (itens > 1 && item.find()) {
+            esperar("remover item", post(pedido + "/remover-item/" + item.group(1), formulario("_csrf", csrf)), 302);
+        }
+
+        if (aleatorio.nextInt(100) < 80) {
+            esperar("finalizar pedido", post(pedido + "/finalizar", formulario("_csrf", csrf)), 302);
+        } else {
+            esperar("cancelar pedido", post("/pedidos/cancelar/" + id.group(1), formulario("_csrf", csrf)), 302);
+        }
+
+        esperar("listar pedidos", get("/pedidos"), 200);
+    }
+
+    // Executa a requisição e registra a latência; status diferente do esperado é erro do fluxo
+    private HttpResponse<String> esperar(String operacao, HttpRequest requisicao, int statusEsperado)
+            throws FalhaFluxo, InterruptedException {
+        long inicio = System.nanoTime();
+        HttpResponse<String> resposta;
+        try {
+            resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw falha(operacao, System.nanoTime() - inicio, e.getClass().getSimpleName());
+        }
+        long duracao = System.nanoTime() - inicio;
+        guardarCookies(resposta);
+        if (resposta.statusCode() != statusEsperado) {
+            throw falha(operacao, duracao, "HTTP " + resposta.statusCode());
+        }
+        estatisticas.sucesso(operacao, duracao);
+        return resposta;
+    }
+
+    private FalhaFluxo falha(String operacao, long nanos, String motivo) {
+        estatisticas.falha(operacao, nanos, motivo);
+        return new FalhaFluxo();
+    }
+
+    private HttpRequest get(String caminho) {
+        return requisicao(caminho).GET().build();
+    }
+
+    private HttpRequest post(String caminho, String formulario) {
+        return requisicao(caminho)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formulario))
+                .build();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(base.resolve(caminho)).timeout(TEMPO_LIMITE);
+        if (!cookies.isEmpty()) {
+            requisicao.header("Cookie", cookies.entrySet().stream()
+                    .map(c -> c.getKey() + "=" + c.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        return requisicao;
+    }
+
+    // Um servidor só (localhost): basta nome e valor; Max-Age=0 apaga o cookie
+    private void guardarCookies(HttpResponse<?> resposta) {
+        for (String cabecalho : resposta.headers().allValues("Set-Cookie")) {
+            for (HttpCookie cookie : HttpCookie.parse(cabecalho)) {
+                if (cookie.getMaxAge() == 0) {
+                    cookies.remove(cookie.getName());
+                } else {
+                    cookies.put(cookie.getName(), cookie.getValue());
+                }
+            }
+        }
+    }
+
+    // Pares nome, valor
+    private static String formulario(Object... campos) {
+        StringBuilder corpo = new StringBuilder();
+        for (int i = 0; i < campos.length; i += 2) {
+            if (!corpo.isEmpty()) {
+                corpo.append('&');
+            }
+            corpo.append(URLEncoder.encode(String.valueOf(campos[i]), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(String.valueOf(campos[i + 1]), StandardCharsets.UTF_8));
+        }
+        return corpo.toString();
+    }
+
+    private static String localizacao(HttpResponse<?> resposta) {
+        return resposta.headers().firstValue("Location").orElse("");
+    }
+
+    private String csrf(String html) throws FalhaFluxo {
+        Matcher token = CSRF.matcher(html);
+        if (!token.find()) {
+            throw falha("login", 0, "token CSRF não encontrado");
+        }
+        return token.group(1);
+    }
+
+    // Interrompe a iteração atual do fluxo; o motivo já foi registrado nas estatísticas
+    private static class FalhaFluxo extends Exception {
+        FalhaFluxo() {
+            super(null, null, false, false);
+        }
+    }
+}
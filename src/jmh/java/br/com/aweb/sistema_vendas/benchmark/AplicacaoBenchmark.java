@@ -0,0 +1,47 @@
+package br.com.aweb.sistema_vendas.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.context.WebApplicationContext;
+
+import br.com.aweb.sistema_vendas.SistemaVendasApplication;
+
+// Sobe a aplicação uma vez por fork do JMH, com o H2 em memória da configuração de testes
+@State(Scope.Benchmark)
+public class AplicacaoBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+
+    @Setup
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(SistemaVendasApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    public <T> T bean(String nome, Class<T> tipo) {
+        return contexto.getBean(nome, tipo);
+    }
+
+    // Para montar MockMvc sobre a aplicação já iniciada
+    public WebApplicationContext contexto() {
+        return (WebApplicationContext) contexto;
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.aweb.sistema_vendas.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import br.com.aweb.sistema_vendas.seguranca.TokenApiService;
+import br.com.aweb.sistema_vendas.service.ProdutoService;
+import jakarta.servlet.Filter;
+
+// Custo da autenticação: login (bcrypt, por custo) e a conferência por requisição,
+// sessão do formulário contra token da API, com a cadeia de filtros completa do Spring Security
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutenticacaoBenchmark {
+
+    private static final Authentication ALUNO = UsernamePasswordAuthenticationToken.authenticated("aluno", null,
+            List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    @State(Scope.Benchmark)
+    public static class Senhas {
+
+        // 10 é o padrão do BCryptPasswordEncoder (vendas.seguranca.bcrypt-forca)
+        @Param({ "4", "10", "12" })
+        public int forca;
+
+        BCryptPasswordEncoder encoder;
+        String hash;
+
+        @Setup
+        public void preparar() {
+            encoder = new BCryptPasswordEncoder(forca);
+            hash = encoder.encode("123");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Token {
+
+        final TokenApiService servico = new TokenApiService("segredo-do-benchmark-com-32-bytes!", Duration.ofHours(1));
+        final String token = servico.emitir(ALUNO).token();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Requisicoes {
+
+        MockMvc mvc;
+        MockHttpSession sessao;
+        String bearer;
+
+        @Setup
+        public void preparar(AplicacaoBenchmark aplicacao) throws Exception {
+            mvc = MockMvcBuilders.webAppContextSetup(aplicacao.contexto())
+                    .addFilters(aplicacao.bean("springSecurityFilterChain", Filter.class))
+                    .build();
+            aplicacao.bean(ProdutoService.class).salvar(DadosBenchmark.novoProduto(100));
+
+            // Sessão já autenticada, como depois do login pelo formulário
+            sessao = new MockHttpSession();
+            sessao.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                    new SecurityContextImpl(ALUNO));
+
+            MvcResult login = mvc.perform(post("/api/token").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"usuario\":\"aluno\",\"senha\":\"123\"}")).andReturn();
+            String corpo = login.getResponse().getContentAsString();
+            int inicio = corpo.indexOf("\"token\":\"") + 9;
+            bearer = "Bearer " + corpo.substring(inicio, corpo.indexOf('"', inicio));
+        }
+    }
+
+    // Login: uma conferência de senha por custo do bcrypt
+    @Benchmark
+    public boolean conferirSenha(Senhas senhas) {
+        return senhas.encoder.matches("123", senhas.hash);
+    }
+
+    // Conferência do token da API (HMAC), sem banco nem sessão
+    @Benchmark
+    public boolean verificarToken(Token token) {
+        return token.servico.verificar(token.token).isPresent();
+    }
+
+    // Login da API: bcrypt com o custo configurado + emissão do token
+    @Benchmark
+    public int loginApi(Requisicoes requisicoes) throws Exception {
+        return requisicoes.mvc.perform(post("/api/token").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usuario\":\"aluno\",\"senha\":\"123\"}")).andReturn().getResponse().getStatus();
+    }
+
+    // Mesma busca JSON: tela autenticada por sessão...
+    @Benchmark
+    public int buscaComSessao(Requisicoes requisicoes) throws Exception {
+        return requisicoes.mvc.perform(get("/produtos/buscar").param("q", "produto").session(requisicoes.sessao))
+                .andReturn().getResponse().getStatus();
+    }
+
+    // ...e API autenticada pelo token
+    @Benchmark
+    public int buscaComToken(Requisicoes requisicoes) throws Exception {
+        return requisicoes.mvc.perform(get("/api/produtos").param("q", "produto")
+                .header(HttpHeaders.AUTHORIZATION, requisicoes.bearer))
+                .andReturn().getResponse().getStatus();
+    }
+}
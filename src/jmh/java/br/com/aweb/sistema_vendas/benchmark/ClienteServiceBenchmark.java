@@ -0,0 +1,28 @@
+package br.com.aweb.sistema_vendas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.service.ClienteService;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClienteServiceBenchmark {
+
+    // Cadastro de cliente inédito, incluindo as verificações de e-mail/CPF duplicados
+    @Benchmark
+    public Cliente salvar(AplicacaoBenchmark aplicacao) {
+        return aplicacao.bean(ClienteService.class).salvar(DadosBenchmark.novoCliente());
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.aweb.sistema_vendas.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.aweb.sistema_vendas.dados.GeradorCpf;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.Produto;
+
+// Fábrica das entidades usadas pelos benchmarks
+final class DadosBenchmark {
+
+    // CPFs sequenciais a partir de um ponto qualquer; cada chamada gera um cliente inédito
+    private static final AtomicLong SEQUENCIA = new AtomicLong(100_000_000L);
+
+    // Ids das mesmas sequências das entidades; cada nextval só pula um bloco do Hibernate
+    private static final String SQL_PEDIDO = """
+            insert into pedidos (id, cliente_id, data_pedido, valor_total, status, uf, cidade, version)
+            values (nextval('pedidos_seq'), ?, ?, ?, 'FINALIZADO', ?, ?, 0)
+            """;
+    private static final String SQL_ITENS = """
+            insert into itens_pedido (id, pedido_id, produto_id, quantidade, preco_unitario)
+            select nextval('itens_pedido_seq'), p.id, ?, 1, ? from pedidos p where p.cliente_id = ?
+            """;
+    private static final int LOTE = 1000;
+
+    private DadosBenchmark() {
+    }
+
+    static Cliente novoCliente() {
+        long n = SEQUENCIA.incrementAndGet();
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente " + n);
+        cliente.setEmail("cliente" + n + "@benchmark.com");
+        cliente.setCpf(GeradorCpf.gerar(n));
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua do Benchmark");
+        cliente.setNumero(String.valueOf(n % 1000));
+        cliente.setBairro("Centro");
+        cliente.setCidade("São Paulo");
+        cliente.setUf("SP");
+        cliente.setCep("01000000");
+        return cliente;
+    }
+
+    static Produto novoProduto(int estoque) {
+        Produto produto = new Produto();
+        produto.setNome("Produto " + SEQUENCIA.incrementAndGet());
+        produto.setDescricao("Produto usado nos benchmarks");
+        produto.setPreco(new BigDecimal("19.90"));
+        produto.setQuantidadeEmEstoque(estoque);
+        return produto;
+    }
+
+    // Pedidos finalizados do cliente, um por minuto para trás a partir de agora, cada um com os
+    // mesmos itens (um de cada produto, em rodízio) e valor_total igual à soma deles.
+    // Gravados por JDBC em lotes, sem o Hibernate, para montar bases grandes em segundos;
+    // o cliente precisa ser novo (os itens entram em todos os pedidos dele)
+    static void inserirPedidos(JdbcTemplate jdbcTemplate, Cliente cliente, List<Produto> produtos,
+            int pedidos, int itensPorPedido) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itensPorPedido; i++) {
+            total = total.add(produtos.get(i % produtos.size()).getPreco());
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (int n = 0; n < pedidos; n++) {
+            lote.add(new Object[] { cliente.getId(), Timestamp.valueOf(agora.minusMinutes(n)), total,
+                    cliente.getUf(), cliente.getCidade() });
+            if (lote.size() == LOTE || n == pedidos - 1) {
+                jdbcTemplate.batchUpdate(SQL_PEDIDO, lote);
+                lote.clear();
+            }
+        }
+
+        for (int i = 0; i < itensPorPedido; i++) {
+            Produto produto = produtos.get(i % produtos.size());
+            jdbcTemplate.update(SQL_ITENS, produto.getId(), produto.getPreco(), cliente.getId());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.aweb.sistema_vendas.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import br.com.aweb.sistema_vendas.dto.PedidoResumoDTO;
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+import br.com.aweb.sistema_vendas.view.LinhasPedidoRenderer;
+
+// Corpo da tabela de pedidos com 10 mil linhas: o template original (SpEL interpretado,
+// formatação por célula) contra o LinhasPedidoRenderer (SpEL compilado, valores formatados
+// antes, linhas de pedidos encerrados em cache). "misto" tem 1/3 de pedidos ativos.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListagemPedidosBenchmark {
+
+    // Linhas de pedido/list.html antes do LinhasPedidoRenderer
+    private static final String TEMPLATE_ORIGINAL = """
+            <tr th:each="pedido : ${pedidos}">
+                <td th:text="${pedido.id}"></td>
+                <td th:text="${pedido.clienteNome}"></td>
+                <td th:text="${#temporals.format(pedido.dataPedido, 'dd/MM/yyyy HH:mm')}"></td>
+                <td th:text="${#numbers.formatCurrency(pedido.valorTotal)}"></td>
+                <td>
+                    <span th:if="${pedido.status.name() == 'ATIVO'}" class="badge bg-success">ATIVO</span>
+                    <span th:if="${pedido.status.name() == 'CANCELADO'}" class="badge bg-danger">CANCELADO</span>
+                </td>
+                <td>
+                    <a class="btn btn-sm btn-info" th:href="@{/pedidos/detalhes/{id}(id=${pedido.id})}">Detalhes</a>
+                    <a th:if="${pedido.status.name() == 'ATIVO'}" class="btn btn-sm btn-warning"
+                       th:href="@{/pedidos/edit/{id}(id=${pedido.id})}">Editar</a>
+                    <a th:if="${pedido.status.name() == 'ATIVO'}" class="btn btn-sm btn-danger"
+                       th:href="@{/pedidos/cancelar/{id}(id=${pedido.id})}">Cancelar</a>
+                </td>
+            </tr>
+            """;
+
+    @Param({ "10000" })
+    int linhas;
+
+    @Param({ "ativos", "misto", "encerrados" })
+    String pedidos;
+
+    private List<PedidoResumoDTO> resumos;
+    private SpringTemplateEngine engineOriginal;
+    private LinhasPedidoRenderer renderer;
+
+    @Setup
+    public void preparar(AplicacaoBenchmark aplicacao) {
+        renderer = aplicacao.bean(LinhasPedidoRenderer.class);
+
+        StringTemplateResolver resolver = new StringTemplateResolver();
+        resolver.setTemplateMode(TemplateMode.HTML);
+        engineOriginal = new SpringTemplateEngine();
+        engineOriginal.setTemplateResolver(resolver);
+
+        resumos = new ArrayList<>(linhas);
+        LocalDateTime data = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < linhas; i++) {
+            StatusPedido status = switch (pedidos) {
+                case "ativos" -> StatusPedido.ATIVO;
+                case "encerrados" -> i % 2 == 0 ? StatusPedido.FINALIZADO : StatusPedido.CANCELADO;
+                default -> StatusPedido.values()[i % 3];
+            };
+            resumos.add(new PedidoResumoDTO((long) i, "Cliente " + i, data.plusMinutes(i),
+                    new BigDecimal(i).movePointLeft(2), status, 1L));
+        }
+    }
+
+    @Benchmark
+    public String original() {
+        MockHttpServletRequest request = requisicao();
+        WebContext contexto = new WebContext(JakartaServletWebApplication
+                .buildApplication(request.getServletContext())
+                .buildExchange(request, new MockHttpServletResponse()), request.getLocale());
+        contexto.setVariable("pedidos", resumos);
+        return engineOriginal.process(TEMPLATE_ORIGINAL, contexto);
+    }
+
+    @Benchmark
+    public String renderer() {
+        return String.join("\n", renderer.renderizar(resumos, requisicao(), new MockHttpServletResponse()));
+    }
+
+    private static MockHttpServletRequest requisicao() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pedidos");
+        request.addPreferredLocale(Locale.forLanguageTag("pt-BR"));
+        return request;
+    }
+}
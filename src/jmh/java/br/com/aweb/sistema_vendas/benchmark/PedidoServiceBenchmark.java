@@ -0,0 +1,227 @@
+package br.com.aweb.sistema_vendas.benchmark;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.dto.DivergenciaTotalDTO;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.ItemPedido;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.ItemPedidoRepository;
+import br.com.aweb.sistema_vendas.repository.PedidoRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+import br.com.aweb.sistema_vendas.service.ConsistenciaTotalPedidoService;
+import br.com.aweb.sistema_vendas.service.PedidoService;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PedidoServiceBenchmark {
+
+    private static final String SQL_ITEM = """
+            insert into itens_pedido (id, pedido_id, produto_id, quantidade, preco_unitario)
+            values (nextval('itens_pedido_seq'), ?, ?, ?, ?)
+            """;
+
+    // Cliente e produtos com estoque de sobra, compartilhados por todas as medições
+    @State(Scope.Benchmark)
+    public static class Catalogo {
+
+        PedidoService pedidoService;
+        ConsistenciaTotalPedidoService consistenciaService;
+        JdbcTemplate jdbcTemplate;
+        TransactionTemplate transactionTemplate;
+        PedidoRepository pedidoRepository;
+        ItemPedidoRepository itemPedidoRepository;
+        Cliente cliente;
+        List<Produto> produtos;
+
+        @Setup
+        public void preparar(AplicacaoBenchmark aplicacao) {
+            pedidoService = aplicacao.bean(PedidoService.class);
+            consistenciaService = aplicacao.bean(ConsistenciaTotalPedidoService.class);
+            jdbcTemplate = aplicacao.bean(JdbcTemplate.class);
+            transactionTemplate = aplicacao.bean(TransactionTemplate.class);
+            pedidoRepository = aplicacao.bean(PedidoRepository.class);
+            itemPedidoRepository = aplicacao.bean(ItemPedidoRepository.class);
+            cliente = aplicacao.bean(ClienteRepository.class).save(DadosBenchmark.novoCliente());
+
+            ProdutoRepository produtoRepository = aplicacao.bean(ProdutoRepository.class);
+            produtos = List.of(
+                    produtoRepository.save(DadosBenchmark.novoProduto(1_000_000_000)),
+                    produtoRepository.save(DadosBenchmark.novoProduto(1_000_000_000)),
+                    produtoRepository.save(DadosBenchmark.novoProduto(1_000_000_000)));
+        }
+
+        Pedido novoPedidoComItens(int itens) {
+            Pedido pedido = pedidoService.criarPedido(cliente);
+            for (int i = 0; i < itens; i++) {
+                pedidoService.adicionarItem(pedido.getId(), produtos.get(i % produtos.size()).getId(), 1);
+            }
+            return pedido;
+        }
+    }
+
+    // Pedido ativo que recebe itens durante a medição
+    @State(Scope.Thread)
+    public static class PedidoAberto {
+
+        Long pedidoId;
+
+        @Setup(Level.Iteration)
+        public void preparar(Catalogo catalogo) {
+            pedidoId = catalogo.pedidoService.criarPedido(catalogo.cliente).getId();
+        }
+    }
+
+    // Pedido com um item recém-adicionado, pronto para ser removido
+    @State(Scope.Thread)
+    public static class ItemParaRemover {
+
+        Long pedidoId;
+        Long itemId;
+
+        @Setup(Level.Iteration)
+        public void prepararPedido(Catalogo catalogo) {
+            pedidoId = catalogo.novoPedidoComItens(20).getId();
+        }
+
+        @Setup(Level.Invocation)
+        public void prepararItem(Catalogo catalogo) {
+            catalogo.pedidoService.adicionarItem(pedidoId, catalogo.produtos.get(0).getId(), 1);
+            itemId = catalogo.jdbcTemplate.queryForObject(
+                    "select max(id) from itens_pedido where pedido_id = ?", Long.class, pedidoId);
+        }
+    }
+
+    // Pedido novo a cada cancelamento, com o número de linhas parametrizado
+    @State(Scope.Thread)
+    public static class PedidoParaCancelar {
+
+        @Param({ "10", "100" })
+        int itens;
+
+        Long pedidoId;
+
+        @Setup(Level.Invocation)
+        public void preparar(Catalogo catalogo) {
+            pedidoId = catalogo.novoPedidoComItens(itens).getId();
+        }
+    }
+
+    // Pedido que recebe os lotes de itens gravados direto pelo repositório
+    @State(Scope.Thread)
+    public static class LoteDeItens {
+
+        @Param({ "200" })
+        int itens;
+
+        Long pedidoId;
+
+        @Setup(Level.Iteration)
+        public void preparar(Catalogo catalogo) {
+            pedidoId = catalogo.pedidoService.criarPedido(catalogo.cliente).getId();
+        }
+    }
+
+    // Base já com pedidos finalizados e seus itens, para a conferência de totais percorrer volume
+    @State(Scope.Benchmark)
+    public static class PedidosGravados {
+
+        @Param({ "1000", "100000" })
+        int pedidos;
+
+        @Param({ "5" })
+        int itensPorPedido;
+
+        @Setup
+        public void preparar(AplicacaoBenchmark aplicacao, Catalogo catalogo) {
+            Cliente cliente = aplicacao.bean(ClienteRepository.class).save(DadosBenchmark.novoCliente());
+            DadosBenchmark.inserirPedidos(catalogo.jdbcTemplate, cliente, catalogo.produtos, pedidos, itensPorPedido);
+            // Sem escritas entre as chamadas o H2 devolveria o resultado guardado da consulta anterior
+            catalogo.jdbcTemplate.execute("SET OPTIMIZE_REUSE_RESULTS FALSE");
+        }
+    }
+
+    @Benchmark
+    public void adicionarItem(Catalogo catalogo, PedidoAberto pedido) {
+        catalogo.pedidoService.adicionarItem(pedido.pedidoId, catalogo.produtos.get(1).getId(), 1);
+    }
+
+    @Benchmark
+    public void removerItem(Catalogo catalogo, ItemParaRemover item) {
+        catalogo.pedidoService.removerItem(item.pedidoId, item.itemId);
+    }
+
+    @Benchmark
+    public void cancelarPedido(Catalogo catalogo, PedidoParaCancelar pedido) {
+        catalogo.pedidoService.cancelarPedido(pedido.pedidoId);
+    }
+
+    // Criação de muitos ItemPedido numa transação: com ids de sequência (pooled-lo) o Hibernate
+    // envia os INSERTs em lotes de hibernate.jdbc.batch_size em vez de um por item.
+    // A linha de base é o inserirItensUmAUm
+    @Benchmark
+    public void inserirItensEmLote(Catalogo catalogo, LoteDeItens lote) {
+        catalogo.transactionTemplate.executeWithoutResult(status -> {
+            Pedido pedido = catalogo.pedidoRepository.getReferenceById(lote.pedidoId);
+            List<ItemPedido> itens = new ArrayList<>(lote.itens);
+            for (int i = 0; i < lote.itens; i++) {
+                ItemPedido item = new ItemPedido(catalogo.produtos.get(i % catalogo.produtos.size()), 1);
+                item.setPedido(pedido);
+                itens.add(item);
+            }
+            catalogo.itemPedidoRepository.saveAll(itens);
+        });
+    }
+
+    // Linha de base do inserirItensEmLote: os mesmos itens na mesma transação, mas um INSERT por
+    // item com o id lido de volta na hora, que é o que o Hibernate faz com ids IDENTITY (antes da V3).
+    // O ganho do lote é em idas e voltas ao banco, que o H2 em memória não tem: comparar os dois
+    // contra o PostgreSQL (SPRING_DATASOURCE_URL/USERNAME/PASSWORD no ambiente do exec:exec)
+    @Benchmark
+    public void inserirItensUmAUm(Catalogo catalogo, LoteDeItens lote) {
+        catalogo.transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < lote.itens; i++) {
+                Produto produto = catalogo.produtos.get(i % catalogo.produtos.size());
+                catalogo.jdbcTemplate.update(conexao -> {
+                    PreparedStatement insert = conexao.prepareStatement(SQL_ITEM, new String[] { "id" });
+                    insert.setLong(1, lote.pedidoId);
+                    insert.setLong(2, produto.getId());
+                    insert.setInt(3, 1);
+                    insert.setBigDecimal(4, produto.getPreco());
+                    return insert;
+                }, new GeneratedKeyHolder());
+            }
+        });
+    }
+
+    // O total agora é incremental (adicionarItem/removerItem); a antiga recomputação
+    // (calcularValorTotal) vive na conferência em lote, medida aqui sobre todos os pedidos gravados
+    @Benchmark
+    public List<DivergenciaTotalDTO> verificarTotais(Catalogo catalogo, PedidosGravados base) {
+        return catalogo.consistenciaService.verificar();
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.aweb.sistema_vendas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Habilita as rotinas em lote (@Scheduled) e as tarefas @Async; cada rotina é ligada pela sua própria propriedade cron.
+// Os executores são os do Spring Boot, que passam a usar threads virtuais com spring.threads.virtual.enabled
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class AgendamentoConfig {
+}
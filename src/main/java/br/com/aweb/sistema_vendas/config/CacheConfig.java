@@ -0,0 +1,16 @@
+package br.com.aweb.sistema_vendas.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache de aplicação (Caffeine); nomes, limites e TTL em spring.cache.* no application.properties
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Um produto por entrada (chave: id), invalidado individualmente quando o estoque muda
+    public static final String PRODUTOS = "produtos";
+
+    // Ids do catálogo, na ordem de exibição (uma única entrada): muda só com inclusões e exclusões
+    public static final String CATALOGO_PRODUTOS = "catalogo-produtos";
+}
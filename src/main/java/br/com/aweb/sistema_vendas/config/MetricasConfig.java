@@ -0,0 +1,44 @@
+package br.com.aweb.sistema_vendas.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import br.com.aweb.sistema_vendas.metricas.ContagemSqlDataSource;
+import br.com.aweb.sistema_vendas.metricas.ContagemSqlInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Instrumentação própria; latência dos serviços via @Timed, percentis em management.metrics.* no application.properties
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    public MetricasConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // O pool (e suas métricas hikaricp.*) continua o mesmo; só as conexões entregues passam a ser contadas
+    @Bean
+    public static BeanPostProcessor contagemSqlDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ContagemSqlDataSource)) {
+                    return new ContagemSqlDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new ContagemSqlInterceptor(registry))
+                .excludePathPatterns("/css/**", "/js/**");
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.aweb.sistema_vendas.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import br.com.aweb.sistema_vendas.replica.MonitorReplica;
+import br.com.aweb.sistema_vendas.replica.RoteamentoDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Réplica de leitura (streaming replication do PostgreSQL), ligada só quando vendas.replica.url
+// estiver definida; sem ela o DataSource continua o do Spring Boot, apontando para o primário.
+// Os dois pools não são beans: o ContagemSqlDataSource (MetricasConfig) envolve só o DataSource
+// final, e cada comando é contado uma vez, qualquer que seja o destino. Por isso cada um é fechado
+// por quem o criou: o da réplica pelo MonitorReplica, o do primário por esta configuração.
+@Configuration
+@ConditionalOnExpression("!'${vendas.replica.url:}'.isBlank()")
+public class ReplicaConfig implements DisposableBean {
+
+    private final Environment environment;
+    private final MeterRegistry registry;
+    private HikariDataSource primario;
+
+    public ReplicaConfig(Environment environment, MeterRegistry registry) {
+        this.environment = environment;
+        this.registry = registry;
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(
+            @Value("${vendas.replica.url}") String url,
+            @Value("${vendas.replica.username:${spring.datasource.username:}}") String usuario,
+            @Value("${vendas.replica.password:${spring.datasource.password:}}") String senha,
+            @Value("${vendas.replica.consulta-atraso}") String consultaAtraso,
+            @Value("${vendas.replica.atraso-maximo:1s}") Duration atrasoMaximo) {
+        HikariDataSource replica = pool("replica");
+        // vendas.replica.hikari.* sobrescreve, só na réplica, o que veio de spring.datasource.hikari.*
+        Binder.get(environment).bind("vendas.replica.hikari", Bindable.ofInstance(replica));
+        replica.setJdbcUrl(url);
+        replica.setUsername(usuario);
+        replica.setPassword(senha);
+        replica.setReadOnly(true);
+        // Réplica fora do ar não impede a partida: o monitor mantém as leituras no primário
+        replica.setInitializationFailTimeout(-1);
+
+        MonitorReplica monitor = new MonitorReplica(replica, consultaAtraso, atrasoMaximo, registry);
+        // Primeira medição já na partida, sem esperar o agendador
+        monitor.verificar();
+        return monitor;
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, MonitorReplica monitorReplica) {
+        primario = pool("primario");
+        primario.setJdbcUrl(properties.determineUrl());
+        primario.setUsername(properties.determineUsername());
+        primario.setPassword(properties.determinePassword());
+        return new LazyConnectionDataSourceProxy(
+                new RoteamentoDataSource(primario, monitorReplica.getDataSource(), monitorReplica));
+    }
+
+    // O bean dataSource (e quem depende dele, como o EntityManagerFactory) é destruído antes
+    // desta configuração, que o criou: nada mais usa o pool quando ele é fechado
+    @Override
+    public void destroy() {
+        if (primario != null) {
+            primario.close();
+        }
+    }
+
+    // Com open-in-view o EntityManager vive a requisição inteira e, por padrão, segura a mesma conexão:
+    // uma leitura na réplica seguida de uma escrita tentaria escrever na réplica. Soltando a conexão no
+    // fim de cada transação, a próxima passa de novo pelo RoteamentoDataSource
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoPorTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Pool com as mesmas configurações spring.datasource.hikari.* que o Spring Boot aplicaria,
+    // métricas hikaricp.* separadas pelo nome do pool
+    private HikariDataSource pool(String nome) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(nome);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return pool;
+    }
+}
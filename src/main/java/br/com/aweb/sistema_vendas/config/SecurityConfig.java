@@ -1,9 +1,18 @@
 package br.com.aweb.sistema_vendas.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,16 +20,66 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import br.com.aweb.sistema_vendas.seguranca.TokenApiFilter;
+import br.com.aweb.sistema_vendas.seguranca.TokenApiService;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Arquivos estáticos não passam por nenhuma cadeia de filtros (nem sessão, nem SecurityContext)
+    @Bean
+    public WebSecurityCustomizer webSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers("/css/**", "/js/**");
+    }
+
+    // API JSON (/api/**): sem sessão e sem CSRF; cada requisição traz o token emitido
+    // por POST /api/token, conferido pelo TokenApiFilter sem bcrypt
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, TokenApiService tokenApiService) throws Exception {
+        http
+            .securityMatcher("/api/**")
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/token").permitAll()
+                .anyRequest().authenticated()
+            )
+            .sessionManagement(sessao -> sessao.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.disable())
+            .exceptionHandling(erros -> erros
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            .addFilterBefore(new TokenApiFilter(tokenApiService), UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    // Actuator: só o health é público. Métricas (contadores de negócio, latências por URI, pool,
+    // caches) exigem um administrador por HTTP Basic, que é como o Prometheus se autentica no scrape
     @Bean
+    @Order(2)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/actuator/**")
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/actuator/health").permitAll()
+                .anyRequest().hasRole("ADMIN")
+            )
+            .sessionManagement(sessao -> sessao.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.disable())
+            .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(3)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/css/**", "/js/**").permitAll()
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
@@ -35,24 +94,35 @@ public class SecurityConfig {
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
+    public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
         UserDetails user = User.builder()
             .username("aluno")
-            .password(passwordEncoder().encode("123"))
+            .password(passwordEncoder.encode("123"))
             .roles("USER")
             .build();
-            
+
         UserDetails admin = User.builder()
             .username("professor")
-            .password(passwordEncoder().encode("12345"))
+            .password(passwordEncoder.encode("12345"))
             .roles("ADMIN", "USER")
             .build();
-            
+
         return new InMemoryUserDetailsManager(user, admin);
     }
 
+    // Login da API (POST /api/token): confere a senha uma vez, no mesmo UserDetailsService do formulário
+    @Bean
+    public AuthenticationManager authenticationManager(UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new ProviderManager(provider);
+    }
+
+    // Custo do bcrypt (log2 das rodadas): cada +1 dobra o tempo de um login.
+    // Só vale para os hashes gerados na partida; a API não paga esse custo por requisição
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${vendas.seguranca.bcrypt-forca:10}") int forca) {
+        return new BCryptPasswordEncoder(forca);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package br.com.aweb.sistema_vendas.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.aweb.sistema_vendas.dto.CredenciaisApi;
+import br.com.aweb.sistema_vendas.dto.FiltroClientes;
+import br.com.aweb.sistema_vendas.dto.PaginaClientes;
+import br.com.aweb.sistema_vendas.dto.PaginaPedidos;
+import br.com.aweb.sistema_vendas.dto.ProdutoBuscaDTO;
+import br.com.aweb.sistema_vendas.seguranca.TokenApiService;
+import br.com.aweb.sistema_vendas.seguranca.TokenApiService.TokenEmitido;
+import br.com.aweb.sistema_vendas.service.BuscaProdutoService;
+import br.com.aweb.sistema_vendas.service.ClienteService;
+import br.com.aweb.sistema_vendas.service.PedidoService;
+
+// API JSON de leitura para integrações, sem sessão: POST /api/token troca usuário e senha
+// por um token assinado, enviado depois em "Authorization: Bearer <token>" (SecurityConfig)
+@RestController
+@RequestMapping("/api")
+public class ApiController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenApiService tokenApiService;
+
+    @Autowired
+    private BuscaProdutoService buscaProdutoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    private static final int TAMANHO_PAGINA = 50;
+    private static final int LIMITE_MAXIMO_BUSCA = 50;
+
+    // Único ponto da API que confere a senha (bcrypt)
+    @PostMapping("/token")
+    public ResponseEntity<TokenEmitido> token(@RequestBody CredenciaisApi credenciais) {
+        Authentication autenticacao;
+        try {
+            autenticacao = authenticationManager.authenticate(UsernamePasswordAuthenticationToken
+                    .unauthenticated(credenciais.usuario(), credenciais.senha()));
+        } catch (AuthenticationException e) {
+            // Status direto na resposta: um sendError iria para /error, que exige login do formulário
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(tokenApiService.emitir(autenticacao));
+    }
+
+    @GetMapping("/produtos")
+    public List<ProdutoBuscaDTO> produtos(@RequestParam("q") String consulta,
+                                          @RequestParam(defaultValue = "10") int limite) {
+        return buscaProdutoService.buscar(consulta, Math.min(limite, LIMITE_MAXIMO_BUSCA));
+    }
+
+    @GetMapping("/pedidos")
+    public PaginaPedidos pedidos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorData,
+            @RequestParam(required = false) Long cursorId) {
+        return pedidoService.listarPagina(cursorData, cursorId, TAMANHO_PAGINA);
+    }
+
+    @GetMapping("/clientes")
+    public PaginaClientes clientes(FiltroClientes filtro,
+                                   @RequestParam(required = false) String cursorNome,
+                                   @RequestParam(required = false) Long cursorId) {
+        return clienteService.listarPagina(filtro, cursorNome, cursorId, TAMANHO_PAGINA);
+    }
+}
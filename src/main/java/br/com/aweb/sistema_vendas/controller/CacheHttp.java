@@ -0,0 +1,26 @@
+package br.com.aweb.sistema_vendas.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+// Requisições condicionais (If-None-Match/If-Modified-Since) das telas de leitura.
+// As páginas trazem o token CSRF do formulário de logout, que pertence à sessão: a ETag leva um
+// resumo do id da sessão e a resposta varia por Cookie, para que o navegador não reaproveite
+// uma página guardada depois de um novo login.
+final class CacheHttp {
+
+    private CacheHttp() {
+    }
+
+    // Grava os cabeçalhos de cache e devolve true quando a resposta já foi dada com 304
+    // (o controller então retorna null, sem carregar nem renderizar nada)
+    static boolean naoModificado(ServletWebRequest request, String etag, long ultimaModificacao,
+            CacheControl cacheControl) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+
+        String etagDaSessao = etag + "-" + Integer.toHexString(request.getSessionId().hashCode());
+        return request.checkNotModified(etagDaSessao, ultimaModificacao);
+    }
+}
@@ -3,6 +3,7 @@ package br.com.aweb.sistema_vendas.controller;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
@@ -10,24 +11,48 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 
+import br.com.aweb.sistema_vendas.dto.FiltroClientes;
+import br.com.aweb.sistema_vendas.dto.PaginaClientes;
 import br.com.aweb.sistema_vendas.model.Cliente;
 import br.com.aweb.sistema_vendas.service.ClienteService;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService.Catalogo;
 import jakarta.validation.Valid;
 
 @Controller
 @RequestMapping("/clientes")
 public class ClienteController {
 
+    private static final int TAMANHO_PAGINA = 50;
+
     @Autowired
     private ClienteService clienteService;
 
-    // Listar clientes
+    @Autowired
+    private VersaoCatalogoService versaoCatalogoService;
+
+    // Listar clientes, filtrados e paginados por cursor (304 enquanto o cadastro não mudar)
     @GetMapping
-    public ModelAndView list() {
-        return new ModelAndView("cliente/list", Map.of("clientes", clienteService.listarTodos()));
+    public ModelAndView list(FiltroClientes filtro,
+            @RequestParam(required = false) String cursorNome,
+            @RequestParam(required = false) Long cursorId,
+            ServletWebRequest request) {
+        if (CacheHttp.naoModificado(request,
+                "clientes-" + versaoCatalogoService.etag(Catalogo.CLIENTES),
+                versaoCatalogoService.ultimaAlteracao(Catalogo.CLIENTES),
+                CacheControl.noCache().cachePrivate())) {
+            return null;
+        }
+        PaginaClientes pagina = clienteService.listarPagina(filtro, cursorNome, cursorId, TAMANHO_PAGINA);
+        return new ModelAndView("cliente/list", Map.of(
+                "pagina", pagina,
+                "filtro", filtro
+        ));
     }
 
     // Formulário de cadastro
@@ -46,11 +71,7 @@ public class ClienteController {
         try {
             clienteService.salvar(cliente);
         } catch (IllegalArgumentException e) {
-            if (e.getMessage().contains("CPF")) {
-                result.rejectValue("cpf", "error.cliente", e.getMessage());
-            } else if (e.getMessage().contains("E-mail")) {
-                result.rejectValue("email", "error.cliente", e.getMessage());
-            }
+            rejeitar(result, e);
             return "cliente/form";
         }
 
@@ -77,11 +98,7 @@ public class ClienteController {
         try {
             clienteService.atualizar(cliente.getId(), cliente);
         } catch (IllegalArgumentException e) {
-            if (e.getMessage().contains("CPF")) {
-                result.rejectValue("cpf", "error.cliente", e.getMessage());
-            } else if (e.getMessage().contains("E-mail")) {
-                result.rejectValue("email", "error.cliente", e.getMessage());
-            }
+            rejeitar(result, e);
             return "cliente/form";
         }
 
@@ -104,4 +121,15 @@ public class ClienteController {
         return "redirect:/clientes";
     }
 
+    // Erros de e-mail/CPF vão para o campo; qualquer outro aparece no topo do formulário
+    private static void rejeitar(BindingResult result, IllegalArgumentException e) {
+        if (e.getMessage().contains("CPF")) {
+            result.rejectValue("cpf", "error.cliente", e.getMessage());
+        } else if (e.getMessage().contains("E-mail")) {
+            result.rejectValue("email", "error.cliente", e.getMessage());
+        } else {
+            result.reject("error.cliente", e.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,60 @@
+package br.com.aweb.sistema_vendas.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.ModelAndView;
+
+import br.com.aweb.sistema_vendas.dto.RelatorioImportacao;
+import br.com.aweb.sistema_vendas.service.ImportacaoService;
+
+@Controller
+@RequestMapping("/importacao")
+public class ImportacaoController {
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    // Formulário de envio dos arquivos CSV
+    @GetMapping
+    public ModelAndView form() {
+        return new ModelAndView("importacao/form");
+    }
+
+    // Importar clientes
+    @PostMapping("/clientes")
+    public ModelAndView importarClientes(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        if (arquivo.isEmpty()) {
+            return new ModelAndView("importacao/form", Map.of("erro", "Selecione um arquivo CSV de clientes."));
+        }
+        // O upload fica em arquivo temporário (spring.servlet.multipart.*) e é lido em fluxo
+        try (InputStream csv = arquivo.getInputStream()) {
+            RelatorioImportacao relatorio = importacaoService.importarClientes(csv);
+            return new ModelAndView("importacao/resultado", Map.of("relatorio", relatorio));
+        } catch (IllegalArgumentException e) {
+            return new ModelAndView("importacao/form", Map.of("erro", e.getMessage()));
+        }
+    }
+
+    // Importar produtos
+    @PostMapping("/produtos")
+    public ModelAndView importarProdutos(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        if (arquivo.isEmpty()) {
+            return new ModelAndView("importacao/form", Map.of("erro", "Selecione um arquivo CSV de produtos."));
+        }
+        try (InputStream csv = arquivo.getInputStream()) {
+            RelatorioImportacao relatorio = importacaoService.importarProdutos(csv);
+            return new ModelAndView("importacao/resultado", Map.of("relatorio", relatorio));
+        } catch (IllegalArgumentException e) {
+            return new ModelAndView("importacao/form", Map.of("erro", e.getMessage()));
+        }
+    }
+}
@@ -1,27 +1,48 @@
 package br.com.aweb.sistema_vendas.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.ModelAndView;
 
+import br.com.aweb.sistema_vendas.dto.ItemCestaDTO;
+import br.com.aweb.sistema_vendas.dto.PaginaPedidos;
+import br.com.aweb.sistema_vendas.dto.VersaoPedidoDTO;
 import br.com.aweb.sistema_vendas.model.Cliente;
 import br.com.aweb.sistema_vendas.model.Pedido;
-import br.com.aweb.sistema_vendas.model.Produto;
 import br.com.aweb.sistema_vendas.model.StatusPedido;
 import br.com.aweb.sistema_vendas.service.ClienteService;
+import br.com.aweb.sistema_vendas.service.ExportacaoPedidoService;
 import br.com.aweb.sistema_vendas.service.PedidoService;
-import br.com.aweb.sistema_vendas.service.ProdutoService;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService.Catalogo;
+import br.com.aweb.sistema_vendas.view.LinhasPedidoRenderer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Controller
 @RequestMapping("/pedidos")
@@ -32,25 +53,71 @@ public class PedidoController {
     @Autowired
     private ClienteService clienteService; // Assumindo a existência
     @Autowired
-    private ProdutoService produtoService; // Assumindo a existência
+    private ExportacaoPedidoService exportacaoPedidoService;
+    @Autowired
+    private LinhasPedidoRenderer linhasPedidoRenderer;
+    @Autowired
+    private VersaoCatalogoService versaoCatalogoService;
+
+    // Por quanto tempo o navegador reaproveita a tela de um pedido cancelado
+    @Value("${vendas.http.pedido-cancelado.max-age:1d}")
+    private Duration cachePedidoCancelado;
+
+    private static final int TAMANHO_PAGINA = 50;
 
-    // # LISTAR TODOS OS PEDIDOS [cite: 334]
+    // # LISTAR PEDIDOS (paginado por cursor) [cite: 334]
     @GetMapping
-    public ModelAndView listarPedidos() {
-        List<Pedido> pedidos = pedidoService.listarTodos();
-        return new ModelAndView("pedido/list", Map.of("pedidos", pedidos)); // [cite: 335]
+    public ModelAndView listarPedidos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorData,
+            @RequestParam(required = false) Long cursorId,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        PaginaPedidos pagina = pedidoService.listarPagina(cursorData, cursorId, TAMANHO_PAGINA);
+        return new ModelAndView("pedido/list", Map.of(
+                "linhas", linhasPedidoRenderer.renderizar(pagina.pedidos(), request, response),
+                "pagina", pagina
+        )); // [cite: 335]
+    }
+
+    // # EXPORTAR PEDIDOS E ITENS (CSV ou JSON), filtrando por status e período (datas inclusivas)
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        LocalDateTime de = inicio == null ? null : inicio.atStartOfDay();
+        LocalDateTime ate = fim == null ? null : fim.plusDays(1).atStartOfDay();
+
+        // O corpo é escrito depois que o método retorna, direto na resposta
+        StreamingResponseBody corpo;
+        MediaType tipo;
+        if ("json".equalsIgnoreCase(formato)) {
+            corpo = saida -> exportacaoPedidoService.exportarJson(status, de, ate, saida);
+            tipo = MediaType.APPLICATION_JSON;
+        } else if ("csv".equalsIgnoreCase(formato)) {
+            corpo = saida -> exportacaoPedidoService.exportarCsv(status, de, ate, saida);
+            tipo = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato inválido: use csv ou json");
+        }
+
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("pedidos." + formato.toLowerCase())
+                        .build().toString())
+                .body(corpo);
     }
 
     // # FORMULÁRIO DE NOVO PEDIDO - GET [cite: 336]
     @GetMapping("/novo")
     public ModelAndView novoPedidoForm() {
         List<Cliente> clientes = clienteService.listarTodos(); // Assumindo o serviço ClienteService
-        List<Produto> produtos = produtoService.listarTodos(); // Assumindo o serviço ProdutoService
 
         return new ModelAndView("pedido/form", Map.of(
                 "pedido", new Pedido(),
-                "clientes", clientes,
-                "produtos", produtos
+                "clientes", clientes
         ));
     }
 
@@ -70,7 +137,7 @@ public class PedidoController {
     // # FORMULÁRIO DE EDIÇÃO DE PEDIDO - GET
     @GetMapping("/edit/{id}")
     public ModelAndView editarPedidoForm(@PathVariable Long id) {
-        Optional<Pedido> optionalPedido = pedidoService.buscarPorId(id);
+        Optional<Pedido> optionalPedido = pedidoService.buscarComItens(id);
 
         if (!optionalPedido.isPresent()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND); // Pedido não existe
@@ -83,12 +150,8 @@ public class PedidoController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pedido cancelado não pode ser editado");
         }
 
-        List<Produto> produtos = produtoService.listarTodos(); // Todos os produtos
-        
-        return new ModelAndView("pedido/edit", Map.of(
-                "pedido", pedido, 
-                "produtos", produtos
-        )); // [cite: 347]
+        // Os produtos são buscados sob demanda pela tela (/produtos/buscar)
+        return new ModelAndView("pedido/edit", Map.of("pedido", pedido)); // [cite: 347]
     }
 
     // # ADICIONAR ITEM AO PEDIDO - POST
@@ -104,6 +167,27 @@ public class PedidoController {
         }
     }
 
+    // # ADICIONAR VÁRIOS ITENS AO PEDIDO - POST (linhas produtoId/quantidade pareadas por posição)
+    @PostMapping("/{pedidoId}/adicionar-itens")
+    public String adicionarItens(@PathVariable Long pedidoId,
+                                 @RequestParam List<Long> produtoId,
+                                 @RequestParam List<Integer> quantidade) {
+        if (produtoId.size() != quantidade.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cada produto precisa de uma quantidade");
+        }
+        List<ItemCestaDTO> cesta = new ArrayList<>(produtoId.size());
+        for (int i = 0; i < produtoId.size(); i++) {
+            cesta.add(new ItemCestaDTO(produtoId.get(i), quantidade.get(i)));
+        }
+
+        try {
+            pedidoService.adicionarItens(pedidoId, cesta);
+            return "redirect:/pedidos/edit/" + pedidoId; // Redireciona para edição
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     // # REMOVER ITEM DO PEDIDO - POST
     @PostMapping("/{pedidoId}/remover-item/{itemId}")
     public String removerItem(@PathVariable Long pedidoId,
@@ -119,15 +203,18 @@ public class PedidoController {
     // # FINALIZAR PEDIDO - POST [cite: 350]
     @PostMapping("/{id}/finalizar")
     public String finalizarPedido(@PathVariable Long id) {
-        // A lógica de finalização (como mudar o status para 'FECHADO') pode ir aqui ou ser
-        // apenas o redirecionamento conforme o slide.
-        return "redirect:/pedidos"; // Redireciona para listagem
+        try {
+            pedidoService.finalizarPedido(id); // Muda o status para FINALIZADO
+            return "redirect:/pedidos"; // Redireciona para listagem
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     // # CANCELAR PEDIDO - GET (Formulário de confirmação)
     @GetMapping("/cancelar/{id}")
     public ModelAndView cancelarPedidoForm(@PathVariable Long id) {
-        Optional<Pedido> optionalPedido = pedidoService.buscarPorId(id);
+        Optional<Pedido> optionalPedido = pedidoService.buscarCabecalho(id);
 
         if (!optionalPedido.isPresent()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
@@ -143,15 +230,29 @@ public class PedidoController {
         try {
             pedidoService.cancelarPedido(id); // Tenta cancelar o pedido
             return "redirect:/pedidos"; // Redireciona para listagem
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | IllegalStateException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
     
     // # DETALHES DO PEDIDO - GET
+    // ETag pela version do pedido (e pelos cadastros de produtos/clientes, cujos nomes aparecem na
+    // tela), conferida antes de carregar o pedido. Só o cancelado não muda mais e fica no cache do
+    // navegador; um finalizado ainda pode ser cancelado, então é sempre revalidado (304)
     @GetMapping("/detalhes/{id}")
-    public ModelAndView detalhesPedido(@PathVariable Long id) {
-        Optional<Pedido> optionalPedido = pedidoService.buscarPorId(id);
+    public ModelAndView detalhesPedido(@PathVariable Long id, ServletWebRequest request) {
+        VersaoPedidoDTO versao = pedidoService.buscarVersao(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        CacheControl cacheControl = versao.status() == StatusPedido.CANCELADO
+                ? CacheControl.maxAge(cachePedidoCancelado).cachePrivate()
+                : CacheControl.noCache().cachePrivate();
+        String etag = "pedido-" + id + "-" + versao.version() + "-"
+                + versaoCatalogoService.etag(Catalogo.PRODUTOS, Catalogo.CLIENTES);
+        if (CacheHttp.naoModificado(request, etag, -1, cacheControl)) {
+            return null;
+        }
+
+        Optional<Pedido> optionalPedido = pedidoService.buscarComItens(id);
         
         if (!optionalPedido.isPresent()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
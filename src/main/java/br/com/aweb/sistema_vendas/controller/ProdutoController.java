@@ -1,8 +1,10 @@
 package br.com.aweb.sistema_vendas.controller;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
@@ -10,11 +12,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 
+import br.com.aweb.sistema_vendas.dto.ProdutoBuscaDTO;
 import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.service.BuscaProdutoService;
 import br.com.aweb.sistema_vendas.service.ProdutoService;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService.Catalogo;
 import jakarta.validation.Valid;
 
 @Controller
@@ -24,12 +33,34 @@ public class ProdutoController {
     @Autowired
     private ProdutoService produtoService;
 
-    // Listar produtos
+    @Autowired
+    private BuscaProdutoService buscaProdutoService;
+
+    @Autowired
+    private VersaoCatalogoService versaoCatalogoService;
+
+    private static final int LIMITE_MAXIMO_BUSCA = 50;
+
+    // Listar produtos (304 enquanto cadastro e estoque não mudarem)
     @GetMapping
-    public ModelAndView list() {
+    public ModelAndView list(ServletWebRequest request) {
+        if (CacheHttp.naoModificado(request,
+                "produtos-" + versaoCatalogoService.etag(Catalogo.PRODUTOS, Catalogo.ESTOQUE),
+                versaoCatalogoService.ultimaAlteracao(Catalogo.PRODUTOS, Catalogo.ESTOQUE),
+                CacheControl.noCache().cachePrivate())) {
+            return null;
+        }
         return new ModelAndView("produto/list", Map.of("produtos", produtoService.listarTodos()));
     }
 
+    // Busca para autocompletar (JSON), usada na tela de edição do pedido
+    @GetMapping("/buscar")
+    @ResponseBody
+    public List<ProdutoBuscaDTO> buscar(@RequestParam("q") String consulta,
+                                        @RequestParam(defaultValue = "10") int limite) {
+        return buscaProdutoService.buscar(consulta, Math.min(limite, LIMITE_MAXIMO_BUSCA));
+    }
+
     // Formulário de cadastro
     @GetMapping("/novo")
     public ModelAndView create() {
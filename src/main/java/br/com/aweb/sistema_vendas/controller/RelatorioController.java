@@ -0,0 +1,49 @@
+package br.com.aweb.sistema_vendas.controller;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.ModelAndView;
+
+import br.com.aweb.sistema_vendas.service.RelatorioVendasService;
+
+@Controller
+@RequestMapping("/relatorios")
+public class RelatorioController {
+
+    @Autowired
+    private RelatorioVendasService relatorioVendasService;
+
+    private static final int DIAS_PADRAO = 30;
+
+    // Relatório de vendas do período (padrão: últimos 30 dias)
+    @GetMapping
+    public ModelAndView vendas(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        LocalDate ate = fim == null ? LocalDate.now() : fim;
+        LocalDate de = inicio == null ? ate.minusDays(DIAS_PADRAO - 1) : inicio;
+
+        if (de.isAfter(ate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data inicial posterior à final");
+        }
+
+        return new ModelAndView("relatorio/vendas", Map.of("relatorio", relatorioVendasService.gerar(de, ate)));
+    }
+
+    // Reconstrói os resumos a partir dos pedidos finalizados
+    @PostMapping("/reconstruir")
+    public String reconstruir() {
+        relatorioVendasService.reconstruir();
+        return "redirect:/relatorios";
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.aweb.sistema_vendas.dto;
+
+// Projeção somente leitura usada na listagem de clientes (sem endereço nem pedidos)
+public record ClienteResumoDTO(
+        Long id,
+        String nome,
+        String email,
+        String cpf,
+        String telefone,
+        String cidade,
+        String uf) {
+}
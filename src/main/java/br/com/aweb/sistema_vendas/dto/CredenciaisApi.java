@@ -0,0 +1,7 @@
+package br.com.aweb.sistema_vendas.dto;
+
+// Corpo de POST /api/token
+public record CredenciaisApi(
+        String usuario,
+        String senha) {
+}
@@ -0,0 +1,7 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.math.BigDecimal;
+
+// Pedido cujo valor_total gravado não bate com a soma dos seus itens
+public record DivergenciaTotalDTO(Long pedidoId, BigDecimal valorRegistrado, BigDecimal valorCalculado) {
+}
@@ -0,0 +1,5 @@
+package br.com.aweb.sistema_vendas.dto;
+
+// Linha do CSV rejeitada na importação, com o motivo
+public record ErroImportacaoDTO(long linha, String mensagem) {
+}
@@ -0,0 +1,9 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.time.LocalDateTime;
+
+import br.com.aweb.sistema_vendas.model.TipoEventoPedido;
+
+// Evento entregue aos manipuladores; tentativa começa em 1
+public record EventoPedidoDTO(Long id, Long pedidoId, TipoEventoPedido tipo, LocalDateTime criadoEm, int tentativa) {
+}
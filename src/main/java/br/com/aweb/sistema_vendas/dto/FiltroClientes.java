@@ -0,0 +1,9 @@
+package br.com.aweb.sistema_vendas.dto;
+
+// Filtros da listagem de clientes, como digitados na tela. Campos vazios são ignorados.
+// busca: início do nome, CPF (com ou sem pontuação) ou e-mail (quando contém '@')
+public record FiltroClientes(
+        String busca,
+        String cidade,
+        String uf) {
+}
@@ -0,0 +1,5 @@
+package br.com.aweb.sistema_vendas.dto;
+
+// Uma linha da cesta enviada de uma vez para o pedido (produto e quantidade)
+public record ItemCestaDTO(Long produtoId, Integer quantidade) {
+}
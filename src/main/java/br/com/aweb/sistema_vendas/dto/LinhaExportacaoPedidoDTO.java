@@ -0,0 +1,20 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+
+// Uma linha da exportação: cabeçalho do pedido repetido em cada item (itens nulos para pedido vazio)
+public record LinhaExportacaoPedidoDTO(Long pedidoId,
+                                       LocalDateTime dataPedido,
+                                       StatusPedido status,
+                                       String clienteNome,
+                                       String clienteCpf,
+                                       BigDecimal valorTotal,
+                                       Long itemId,
+                                       Long produtoId,
+                                       String produtoNome,
+                                       Integer quantidade,
+                                       BigDecimal precoUnitario) {
+}
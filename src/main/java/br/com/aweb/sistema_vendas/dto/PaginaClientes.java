@@ -0,0 +1,15 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.util.List;
+
+// Página da listagem de clientes paginada por cursor (nome, id).
+// proximoNome/proximoId são nulos quando não existe próxima página.
+public record PaginaClientes(
+        List<ClienteResumoDTO> clientes,
+        String proximoNome,
+        Long proximoId) {
+
+    public boolean isTemProxima() {
+        return proximoId != null;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Página da listagem de pedidos paginada por cursor (dataPedido, id).
+// proximaData/proximoId são nulos quando não existe próxima página.
+public record PaginaPedidos(
+        List<PedidoResumoDTO> pedidos,
+        LocalDateTime proximaData,
+        Long proximoId) {
+
+    public boolean isTemProxima() {
+        return proximoId != null;
+    }
+}
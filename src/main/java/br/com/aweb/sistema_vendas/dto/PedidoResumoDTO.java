@@ -0,0 +1,17 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+
+// Projeção somente leitura usada na listagem de pedidos (uma linha por pedido).
+// version identifica a linha já renderizada no cache da listagem (LinhasPedidoRenderer)
+public record PedidoResumoDTO(
+        Long id,
+        String clienteNome,
+        LocalDateTime dataPedido,
+        BigDecimal valorTotal,
+        StatusPedido status,
+        Long version) {
+}
@@ -0,0 +1,12 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.math.BigDecimal;
+
+// Resultado da busca de produtos (autocompletar da tela de pedido)
+public record ProdutoBuscaDTO(
+        Long id,
+        String nome,
+        String descricao,
+        BigDecimal preco,
+        Integer quantidadeEmEstoque) {
+}
@@ -0,0 +1,5 @@
+package br.com.aweb.sistema_vendas.dto;
+
+// Quantidade total de um produto somada entre os itens de um pedido
+public record QuantidadeProdutoDTO(Long produtoId, Long quantidade) {
+}
@@ -0,0 +1,12 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.util.List;
+
+// Resultado de uma importação em lote; a lista de erros é limitada (errosOmitidos conta o restante)
+public record RelatorioImportacao(String tipo,
+                                  long linhasLidas,
+                                  long importadas,
+                                  long rejeitadas,
+                                  List<ErroImportacaoDTO> erros,
+                                  long errosOmitidos) {
+}
@@ -0,0 +1,12 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Relatório de vendas de um período (datas inclusivas), montado só a partir dos resumos diários
+public record RelatorioVendasDTO(LocalDate inicio,
+                                 LocalDate fim,
+                                 List<VendaDiaDTO> porDia,
+                                 List<VendaProdutoDTO> porProduto,
+                                 List<VendaRegiaoDTO> porRegiao) {
+}
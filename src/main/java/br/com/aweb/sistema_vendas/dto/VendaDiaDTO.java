@@ -0,0 +1,8 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Totais de vendas finalizadas em um dia
+public record VendaDiaDTO(LocalDate dia, BigDecimal receita, Long unidades, Long pedidos) {
+}
@@ -0,0 +1,7 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.math.BigDecimal;
+
+// Totais de vendas finalizadas de um produto no período
+public record VendaProdutoDTO(Long produtoId, String produtoNome, BigDecimal receita, Long unidades, Long pedidos) {
+}
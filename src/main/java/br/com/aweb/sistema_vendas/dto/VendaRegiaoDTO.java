@@ -0,0 +1,7 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import java.math.BigDecimal;
+
+// Totais de vendas finalizadas de uma UF/cidade no período
+public record VendaRegiaoDTO(String uf, String cidade, BigDecimal receita, Long unidades, Long pedidos) {
+}
@@ -0,0 +1,7 @@
+package br.com.aweb.sistema_vendas.dto;
+
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+
+// Somente o que identifica o estado de um pedido, para responder requisições condicionais
+public record VersaoPedidoDTO(Long version, StatusPedido status) {
+}
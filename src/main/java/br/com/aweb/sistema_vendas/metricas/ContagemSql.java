@@ -0,0 +1,28 @@
+package br.com.aweb.sistema_vendas.metricas;
+
+// Contador de comandos SQL preparados pela thread da requisição atual
+public final class ContagemSql {
+
+    private static final ThreadLocal<int[]> CONTADOR = new ThreadLocal<>();
+
+    private ContagemSql() {
+    }
+
+    static void iniciar() {
+        CONTADOR.set(new int[1]);
+    }
+
+    // Retorna o total da requisição e limpa a thread
+    static int encerrar() {
+        int[] contador = CONTADOR.get();
+        CONTADOR.remove();
+        return contador == null ? 0 : contador[0];
+    }
+
+    static void registrarComando() {
+        int[] contador = CONTADOR.get();
+        if (contador != null) {
+            contador[0]++;
+        }
+    }
+}
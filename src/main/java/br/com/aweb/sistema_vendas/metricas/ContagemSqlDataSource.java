@@ -0,0 +1,47 @@
+package br.com.aweb.sistema_vendas.metricas;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Envolve o pool para contar cada comando SQL, venha ele do Hibernate ou do JdbcTemplate
+public class ContagemSqlDataSource extends DelegatingDataSource {
+
+    private static final Set<String> CRIACAO_DE_COMANDO = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    public ContagemSqlDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return contar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return contar(super.getConnection(username, password));
+    }
+
+    private static Connection contar(Connection conexao) {
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            if (CRIACAO_DE_COMANDO.contains(metodo.getName())) {
+                ContagemSql.registrarComando();
+            }
+            try {
+                return metodo.invoke(conexao, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                ContagemSqlDataSource.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.aweb.sistema_vendas.metricas;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Publica quantos comandos SQL cada requisição executou (vendas.http.sql.comandos)
+public class ContagemSqlInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry registry;
+
+    public ContagemSqlInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ContagemSql.iniciar();
+        return true;
+    }
+
+    // Roda depois da renderização da view, então inclui as cargas lazy feitas pelo template
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        int comandos = ContagemSql.encerrar();
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        DistributionSummary.builder("vendas.http.sql.comandos")
+                .description("Comandos SQL executados por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                .register(registry)
+                .record(comandos);
+    }
+}
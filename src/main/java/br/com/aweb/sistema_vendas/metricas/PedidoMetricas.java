@@ -0,0 +1,64 @@
+package br.com.aweb.sistema_vendas.metricas;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Contadores de negócio dos pedidos. Criados, finalizados e cancelados só sobem após o commit
+// (como em VersaoCatalogoService): uma transação desfeita não conta. Estoque insuficiente conta
+// na hora, justamente porque a recusa desfaz a transação
+@Component
+public class PedidoMetricas {
+
+    private final Counter criados;
+    private final Counter finalizados;
+    private final Counter cancelados;
+    private final Counter estoqueInsuficiente;
+
+    public PedidoMetricas(MeterRegistry registry) {
+        criados = Counter.builder("vendas.pedidos.criados")
+                .description("Pedidos criados")
+                .register(registry);
+        finalizados = Counter.builder("vendas.pedidos.finalizados")
+                .description("Pedidos finalizados")
+                .register(registry);
+        cancelados = Counter.builder("vendas.pedidos.cancelados")
+                .description("Pedidos cancelados")
+                .register(registry);
+        estoqueInsuficiente = Counter.builder("vendas.pedidos.estoque.insuficiente")
+                .description("Itens recusados por falta de estoque")
+                .register(registry);
+    }
+
+    public void pedidoCriado() {
+        aposCommit(criados);
+    }
+
+    public void pedidoFinalizado() {
+        aposCommit(finalizados);
+    }
+
+    public void pedidoCancelado() {
+        aposCommit(cancelados);
+    }
+
+    public void estoqueInsuficiente() {
+        estoqueInsuficiente.increment();
+    }
+
+    private void aposCommit(Counter contador) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            contador.increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                contador.increment();
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package br.com.aweb.sistema_vendas.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import org.hibernate.validator.constraints.br.CPF;
 
@@ -11,22 +12,36 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
-@Table(name = "clientes")
-@Data
+// Constraints nomeadas: ClienteService traduz a violação de cada uma para o erro do campo
+@Table(name = "clientes", uniqueConstraints = {
+        @UniqueConstraint(name = Cliente.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = Cliente.UK_CPF, columnNames = "cpf")
+})
+@Getter
+@Setter
+@ToString
 @AllArgsConstructor
 @NoArgsConstructor
 public class Cliente {
+    public static final String UK_EMAIL = "uk_clientes_email";
+    public static final String UK_CPF = "uk_clientes_cpf";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clientes_seq")
+    @SequenceGenerator(name = "clientes_seq", sequenceName = "clientes_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório.")
@@ -35,13 +50,13 @@ public class Cliente {
 
     @NotBlank(message = "E-mail é obrigatório.")
     @Email(message = "E-mail inválido.")
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank(message = "CPF é obrigatório.")
     @CPF(message = "CPF inválido")
     @Size(min = 11, max = 11, message = "CPF deve ter 11 dígitos.")
-    @Column(nullable = false, unique = true, length = 11)
+    @Column(nullable = false, length = 11)
     private String cpf;
 
     @NotBlank(message = "Telefone é obrigatório.")
@@ -72,8 +87,21 @@ public class Cliente {
     @Column(nullable = false)
     private String cep;
 
-    // Adicione este atributo à classe Cliente existente:
-
-@OneToMany(mappedBy = "cliente")
-private List<Pedido> pedidos = new ArrayList<>();
+    @OneToMany(mappedBy = "cliente")
+    @ToString.Exclude
+    private List<Pedido> pedidos = new ArrayList<>();
+
+    // Igualdade pelo id (ver Pedido): nunca carrega a lista de pedidos do cliente
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Cliente outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
 }
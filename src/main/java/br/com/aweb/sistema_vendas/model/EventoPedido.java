@@ -0,0 +1,82 @@
+package br.com.aweb.sistema_vendas.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Outbox dos pedidos: gravado na mesma transação da mudança de estado e entregue depois,
+// fora dela, pelo DespachoEventosPedidoService
+@Entity
+@Table(name = "eventos_pedido")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class EventoPedido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_pedido_seq")
+    @SequenceGenerator(name = "eventos_pedido_seq", sequenceName = "eventos_pedido_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "pedido_id", nullable = false)
+    private Long pedidoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoEventoPedido tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private StatusEventoPedido status = StatusEventoPedido.PENDENTE;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    // Quando o evento pode ser (re)tentado; também serve de reserva enquanto está sendo entregue
+    @Column(nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(nullable = false)
+    private Integer tentativas = 0;
+
+    private LocalDateTime processadoEm;
+
+    // Último erro de entrega
+    @Column(length = 1000)
+    private String erro;
+
+    public EventoPedido(Long pedidoId, TipoEventoPedido tipo) {
+        this.pedidoId = pedidoId;
+        this.tipo = tipo;
+        this.criadoEm = LocalDateTime.now();
+        this.proximaTentativa = criadoEm;
+    }
+
+    // Igualdade pelo id (ver Pedido): status, tentativas e erro mudam a cada entrega
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof EventoPedido outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -4,39 +4,62 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
 @Table(name = "pedidos")
-@Data
+// Planos de carga usados pelo PedidoRepository
+@NamedEntityGraph(name = Pedido.GRAFO_CABECALHO, attributeNodes = @NamedAttributeNode("cliente"))
+@NamedEntityGraph(name = Pedido.GRAFO_ITENS_PRODUTOS,
+        attributeNodes = {
+                @NamedAttributeNode("cliente"),
+                @NamedAttributeNode(value = "itens", subgraph = "itens")
+        },
+        subgraphs = @NamedSubgraph(name = "itens", attributeNodes = @NamedAttributeNode("produto")))
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Pedido {
+
+    public static final String GRAFO_CABECALHO = "Pedido.cabecalho";
+    public static final String GRAFO_ITENS_PRODUTOS = "Pedido.itensComProdutos";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Cliente é obrigatório")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false)
+    @ToString.Exclude
     private Cliente cliente;
     
     @Column(nullable = false)
@@ -48,8 +71,15 @@ public class Pedido {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 10)
     private StatusPedido status = StatusPedido.ATIVO;
+
+    // Região do cliente no momento da finalização (relatórios por UF/cidade); vazia até lá
+    @Column(length = 2)
+    private String uf;
+
+    private String cidade;
     
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
     private List<ItemPedido> itens = new ArrayList<>();
     
     @Version
@@ -59,4 +89,22 @@ public class Pedido {
     public Pedido(Cliente cliente) {
         this.cliente = cliente;
     }
+
+    // Identidade pela chave primária: equals/hashCode/toString não percorrem cliente nem itens,
+    // não inicializam proxies ou coleções LAZY e custam o mesmo com 1 ou 10 mil itens.
+    // Sem id (ainda não gravado) o pedido só é igual a si mesmo. O id é atribuído no persist e
+    // muda o hashCode: não guardar entidades novas em HashSet/chaves de HashMap antes de gravá-las.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        // getId() em vez do campo: num proxy do Hibernate o id vem sem carregar a entidade
+        return o instanceof Pedido outro && id != null && id.equals(outro.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
 }
\ No newline at end of file
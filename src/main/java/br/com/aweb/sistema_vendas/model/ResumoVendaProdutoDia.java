@@ -0,0 +1,49 @@
+package br.com.aweb.sistema_vendas.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Vendas finalizadas de um produto em um dia (mantido pelo RelatorioVendasService; só leitura aqui)
+@Entity
+@Table(name = "resumo_vendas_produto_dia")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoVendaProdutoDia {
+
+    @EmbeddedId
+    private Chave id;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal receita;
+
+    @Column(nullable = false)
+    private Long unidades;
+
+    // Pedidos distintos que levaram o produto
+    @Column(nullable = false)
+    private Long pedidos;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        @Column(nullable = false)
+        private LocalDate dia;
+
+        @Column(name = "produto_id", nullable = false)
+        private Long produtoId;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.aweb.sistema_vendas.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Vendas finalizadas por UF/cidade do cliente em um dia (mantido pelo RelatorioVendasService; só leitura aqui)
+@Entity
+@Table(name = "resumo_vendas_regiao_dia")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoVendaRegiaoDia {
+
+    @EmbeddedId
+    private Chave id;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal receita;
+
+    @Column(nullable = false)
+    private Long unidades;
+
+    @Column(nullable = false)
+    private Long pedidos;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        @Column(nullable = false)
+        private LocalDate dia;
+
+        @Column(nullable = false, length = 2)
+        private String uf;
+
+        @Column(nullable = false)
+        private String cidade;
+    }
+}
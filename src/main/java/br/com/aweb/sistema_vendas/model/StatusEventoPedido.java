@@ -0,0 +1,8 @@
+package br.com.aweb.sistema_vendas.model;
+
+public enum StatusEventoPedido {
+    PENDENTE,
+    PROCESSADO,
+    // Esgotou as tentativas; fica registrado para análise e reenvio manual
+    FALHOU
+}
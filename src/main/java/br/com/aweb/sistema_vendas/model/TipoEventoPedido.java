@@ -0,0 +1,6 @@
+package br.com.aweb.sistema_vendas.model;
+
+public enum TipoEventoPedido {
+    FINALIZADO,
+    CANCELADO
+}
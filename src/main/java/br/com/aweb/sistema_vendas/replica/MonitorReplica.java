@@ -0,0 +1,93 @@
+package br.com.aweb.sistema_vendas.replica;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Mede o atraso da réplica (em segundos) e decide se as leituras podem ir para ela.
+// Réplica fora do ar, consulta com erro, sem resultado (NULL: réplica sem replicação ativa) ou
+// atraso acima do limite: tudo volta para o primário até a próxima verificação boa.
+// Sem verificação ainda, a réplica não é usada.
+// O pool da réplica pertence ao monitor e é fechado junto com ele.
+public class MonitorReplica implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate replica;
+    private final String consultaAtraso;
+    private final Duration atrasoMaximo;
+
+    private volatile boolean disponivel;
+    private volatile double atrasoSegundos = Double.NaN;
+
+    public MonitorReplica(DataSource replica, String consultaAtraso, Duration atrasoMaximo, MeterRegistry registry) {
+        this.dataSource = replica;
+        this.replica = new JdbcTemplate(replica);
+        // A verificação não pode prender a thread do agendador se a réplica travar
+        this.replica.setQueryTimeout(2);
+        this.consultaAtraso = consultaAtraso;
+        this.atrasoMaximo = atrasoMaximo;
+        Gauge.builder("vendas.replica.atraso", this, monitor -> monitor.atrasoSegundos)
+                .description("Atraso da réplica de leitura na última verificação (NaN se indisponível)")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("vendas.replica.disponivel", this, monitor -> monitor.disponivel ? 1 : 0)
+                .description("1 enquanto as transações somente leitura vão para a réplica")
+                .register(registry);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    @Scheduled(cron = "${vendas.replica.verificacao.cron:* * * * * *}")
+    public void verificar() {
+        boolean estava = disponivel;
+        try {
+            Double atraso = replica.queryForObject(consultaAtraso, Double.class);
+            if (atraso == null) {
+                atrasoSegundos = Double.NaN;
+                disponivel = false;
+                if (estava) {
+                    log.warn("Réplica sem replicação ativa do primário: leituras voltam ao primário");
+                }
+                return;
+            }
+            atrasoSegundos = atraso;
+            disponivel = atrasoSegundos <= atrasoMaximo.toMillis() / 1000.0;
+            if (estava && !disponivel) {
+                log.warn("Réplica com atraso de {} s (máximo {}): leituras voltam ao primário",
+                        atrasoSegundos, atrasoMaximo);
+            }
+        } catch (RuntimeException e) {
+            atrasoSegundos = Double.NaN;
+            disponivel = false;
+            if (estava) {
+                log.warn("Réplica indisponível, leituras voltam ao primário: {}", e.getMessage());
+            }
+        }
+        if (!estava && disponivel) {
+            log.info("Réplica em dia (atraso {} s): recebendo as transações somente leitura", atrasoSegundos);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.aweb.sistema_vendas.replica;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Transações @Transactional(readOnly = true) vão para a réplica (se o MonitorReplica permitir);
+// escrita, transações de leitura e escrita e acesso sem transação ficam no primário.
+// A decisão usa o estado da transação da thread, então este DataSource precisa ficar atrás de um
+// LazyConnectionDataSourceProxy: o JpaTransactionManager pede a conexão antes de marcar a transação
+// como somente leitura, e o proxy só busca a conexão real no primeiro comando SQL.
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIO, REPLICA
+    }
+
+    private final MonitorReplica monitor;
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica, MonitorReplica monitor) {
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && monitor.isDisponivel()
+                ? Destino.REPLICA
+                : Destino.PRIMARIO;
+    }
+}
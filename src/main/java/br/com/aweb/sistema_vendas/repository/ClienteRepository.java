@@ -4,9 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import br.com.aweb.sistema_vendas.model.Cliente;
 
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
-
-    // validações úteis para não duplicar
-    boolean existsByEmail(String email);
-    boolean existsByCpf(String cpf);
+// E-mail e CPF duplicados são barrados pelas constraints únicas de Cliente (ver ClienteService).
+// A listagem com filtros vem do fragmento ListagemClientesRepository
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ListagemClientesRepository {
 }
@@ -0,0 +1,12 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.com.aweb.sistema_vendas.model.EventoPedido;
+
+public interface EventoPedidoRepository extends JpaRepository<EventoPedido, Long> {
+
+    List<EventoPedido> findByPedidoIdOrderById(Long pedidoId);
+}
@@ -0,0 +1,27 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.aweb.sistema_vendas.dto.QuantidadeProdutoDTO;
+import br.com.aweb.sistema_vendas.model.ItemPedido;
+
+public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
+
+    Optional<ItemPedido> findByIdAndPedidoId(Long id, Long pedidoId);
+
+    boolean existsByPedidoId(Long pedidoId);
+
+    // Quantidades do pedido agrupadas por produto, sem carregar itens nem produtos
+    @Query("""
+            select new br.com.aweb.sistema_vendas.dto.QuantidadeProdutoDTO(i.produto.id, sum(i.quantidade))
+            from ItemPedido i
+            where i.pedido.id = :pedidoId
+            group by i.produto.id
+            """)
+    List<QuantidadeProdutoDTO> somarQuantidadesPorProduto(@Param("pedidoId") Long pedidoId);
+}
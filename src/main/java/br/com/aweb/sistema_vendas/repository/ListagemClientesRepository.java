@@ -0,0 +1,17 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
+import br.com.aweb.sistema_vendas.dto.ClienteResumoDTO;
+
+// Fragmento do ClienteRepository com a listagem de clientes, montada em código (ListagemClientesRepositoryImpl)
+public interface ListagemClientesRepository {
+
+    // Listagem paginada por cursor (nome, id), com filtros opcionais (nulos são ignorados).
+    // nome, email e cidade chegam em minúsculas como padrões de LIKE por prefixo (ver ClienteService);
+    // cada filtro tem índice próprio na migração V5
+    List<ClienteResumoDTO> listarResumos(String nome, String cpf, String email, String cidade, String uf,
+                                         String cursorNome, Long cursorId, Limit limit);
+}
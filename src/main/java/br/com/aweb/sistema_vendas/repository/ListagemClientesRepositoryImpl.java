@@ -0,0 +1,88 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.aweb.sistema_vendas.dto.ClienteResumoDTO;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+// Só os filtros informados entram no SQL: cada combinação é um comando próprio, que o PostgreSQL
+// planeja para o índice do filtro. Numa consulta única com "(? is null or ...)" para cada filtro,
+// o plano genérico que o servidor pode adotar depois de algumas execuções do comando preparado
+// (prepareThreshold do driver) não usa o índice de nenhum deles
+class ListagemClientesRepositoryImpl implements ListagemClientesRepository {
+
+    // Nem com um comando por filtro o plano genérico serve: "lower(email) like $1" só usa o índice
+    // text_pattern_ops com o valor em mãos (é dele que sai a faixa do prefixo). A listagem planeja
+    // sempre com os valores; o "local" vale até o fim da transação
+    static final String SQL_PLANO_COM_VALORES = "set local plan_cache_mode = force_custom_plan";
+
+    private static final char ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClienteResumoDTO> listarResumos(String nome, String cpf, String email, String cidade, String uf,
+            String cursorNome, Long cursorId, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ClienteResumoDTO> consulta = cb.createQuery(ClienteResumoDTO.class);
+        Root<Cliente> c = consulta.from(Cliente.class);
+
+        List<Predicate> filtros = new ArrayList<>();
+        if (nome != null) {
+            filtros.add(cb.like(cb.lower(c.get("nome")), nome, ESCAPE));
+        }
+        if (cpf != null) {
+            filtros.add(cb.equal(c.get("cpf"), cpf));
+        }
+        if (email != null) {
+            filtros.add(cb.like(cb.lower(c.get("email")), email, ESCAPE));
+        }
+        if (cidade != null) {
+            filtros.add(cb.like(cb.lower(c.get("cidade")), cidade, ESCAPE));
+        }
+        if (uf != null) {
+            filtros.add(cb.equal(c.get("uf"), uf));
+        }
+        if (cursorNome != null) {
+            filtros.add(cb.or(
+                    cb.greaterThan(c.get("nome"), cursorNome),
+                    cb.and(cb.equal(c.get("nome"), cursorNome), cb.greaterThan(c.get("id"), cursorId))));
+        }
+
+        consulta.select(cb.construct(ClienteResumoDTO.class,
+                        c.get("id"), c.get("nome"), c.get("email"), c.get("cpf"), c.get("telefone"),
+                        c.get("cidade"), c.get("uf")))
+                .where(filtros.toArray(Predicate[]::new))
+                .orderBy(cb.asc(c.get("nome")), cb.asc(c.get("id")));
+        planejarComValores();
+        return entityManager.createQuery(consulta)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+
+    private void planejarComValores() {
+        entityManager.unwrap(Session.class).doWork(conexao -> {
+            String banco = conexao.getMetaData().getDatabaseProductName();
+            if (DatabaseDriver.fromProductName(banco) == DatabaseDriver.POSTGRESQL) {
+                try (Statement comando = conexao.createStatement()) {
+                    comando.execute(SQL_PLANO_COM_VALORES);
+                }
+            }
+        });
+    }
+}
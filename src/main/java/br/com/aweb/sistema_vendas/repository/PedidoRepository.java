@@ -1,13 +1,84 @@
 package br.com.aweb.sistema_vendas.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import br.com.aweb.sistema_vendas.dto.LinhaExportacaoPedidoDTO;
+import br.com.aweb.sistema_vendas.dto.PedidoResumoDTO;
+import br.com.aweb.sistema_vendas.dto.VersaoPedidoDTO;
 import br.com.aweb.sistema_vendas.model.Pedido;
 import br.com.aweb.sistema_vendas.model.StatusPedido;
+import jakarta.persistence.QueryHint;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     // Método para buscar uma lista de pedidos por Status
     List<Pedido> findByStatus(StatusPedido status);
+
+    // Pedido + cliente + itens + produtos em uma única consulta (telas de edição/detalhes)
+    @EntityGraph(Pedido.GRAFO_ITENS_PRODUTOS)
+    Optional<Pedido> findComItensById(Long id);
+
+    // Apenas o cabeçalho do pedido (com o cliente), sem os itens
+    @EntityGraph(Pedido.GRAFO_CABECALHO)
+    Optional<Pedido> findCabecalhoById(Long id);
+
+    // Versão e status do pedido, sem carregar a entidade (requisições condicionais)
+    @Query("select new br.com.aweb.sistema_vendas.dto.VersaoPedidoDTO(p.version, p.status) from Pedido p where p.id = :id")
+    Optional<VersaoPedidoDTO> buscarVersao(@Param("id") Long id);
+
+    // Primeira página da listagem (mais recentes primeiro)
+    @Query("""
+            select new br.com.aweb.sistema_vendas.dto.PedidoResumoDTO(
+                p.id, c.nome, p.dataPedido, p.valorTotal, p.status, p.version)
+            from Pedido p join p.cliente c
+            order by p.dataPedido desc, p.id desc
+            """)
+    List<PedidoResumoDTO> listarResumos(Limit limit);
+
+    // Páginas seguintes: continua a partir do último (dataPedido, id) exibido
+    @Query("""
+            select new br.com.aweb.sistema_vendas.dto.PedidoResumoDTO(
+                p.id, c.nome, p.dataPedido, p.valorTotal, p.status, p.version)
+            from Pedido p join p.cliente c
+            where p.dataPedido < :data or (p.dataPedido = :data and p.id < :id)
+            order by p.dataPedido desc, p.id desc
+            """)
+    List<PedidoResumoDTO> listarResumosApos(@Param("data") LocalDateTime data,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    // Exportação: pedidos + itens como linhas planas, lidas por cursor no servidor (fetch size)
+    // e sem entidades no contexto de persistência. Filtros nulos são ignorados; fim é exclusivo.
+    // Precisa de transação aberta e o Stream deve ser fechado por quem consome.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.aweb.sistema_vendas.dto.LinhaExportacaoPedidoDTO(
+                p.id, p.dataPedido, p.status, c.nome, c.cpf, p.valorTotal,
+                i.id, pr.id, pr.nome, i.quantidade, i.precoUnitario)
+            from Pedido p
+                join p.cliente c
+                left join p.itens i
+                left join i.produto pr
+            where (:status is null or p.status = :status)
+              and (cast(:inicio as LocalDateTime) is null or p.dataPedido >= :inicio)
+              and (cast(:fim as LocalDateTime) is null or p.dataPedido < :fim)
+            order by p.id, i.id
+            """)
+    Stream<LinhaExportacaoPedidoDTO> exportar(@Param("status") StatusPedido status,
+                                              @Param("inicio") LocalDateTime inicio,
+                                              @Param("fim") LocalDateTime fim);
 }
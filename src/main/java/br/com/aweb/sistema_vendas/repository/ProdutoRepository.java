@@ -1,9 +1,23 @@
 package br.com.aweb.sistema_vendas.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.com.aweb.sistema_vendas.model.Produto;
+import jakarta.persistence.QueryHint;
 
 public interface ProdutoRepository extends JpaRepository<Produto, Long>{
-    
+
+    // Catálogo completo via cache de consultas do Hibernate
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Produto> findAll();
+
+    // Só os ids do catálogo, na ordem de exibição
+    @Query("select p.id from Produto p order by p.id")
+    List<Long> listarIds();
 }
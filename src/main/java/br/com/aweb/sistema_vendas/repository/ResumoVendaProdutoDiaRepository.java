@@ -0,0 +1,30 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.aweb.sistema_vendas.dto.VendaProdutoDTO;
+import br.com.aweb.sistema_vendas.model.ResumoVendaProdutoDia;
+
+public interface ResumoVendaProdutoDiaRepository extends JpaRepository<ResumoVendaProdutoDia, ResumoVendaProdutoDia.Chave> {
+
+    // Produtos mais vendidos (por receita) no período
+    @Query("""
+            select new br.com.aweb.sistema_vendas.dto.VendaProdutoDTO(
+                r.id.produtoId, pr.nome, sum(r.receita), sum(r.unidades), sum(r.pedidos))
+            from ResumoVendaProdutoDia r
+                left join Produto pr on pr.id = r.id.produtoId
+            where r.id.dia between :inicio and :fim
+            group by r.id.produtoId, pr.nome
+            having sum(r.pedidos) > 0
+            order by sum(r.receita) desc, r.id.produtoId
+            """)
+    List<VendaProdutoDTO> somarPorProduto(@Param("inicio") LocalDate inicio,
+                                          @Param("fim") LocalDate fim,
+                                          Limit limit);
+}
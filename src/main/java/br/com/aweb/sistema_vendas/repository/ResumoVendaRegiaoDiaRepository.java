@@ -0,0 +1,42 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.aweb.sistema_vendas.dto.VendaDiaDTO;
+import br.com.aweb.sistema_vendas.dto.VendaRegiaoDTO;
+import br.com.aweb.sistema_vendas.model.ResumoVendaRegiaoDia;
+
+public interface ResumoVendaRegiaoDiaRepository extends JpaRepository<ResumoVendaRegiaoDia, ResumoVendaRegiaoDia.Chave> {
+
+    // Cada pedido entra em uma única região, então esta tabela também dá os totais do dia
+    @Query("""
+            select new br.com.aweb.sistema_vendas.dto.VendaDiaDTO(
+                r.id.dia, sum(r.receita), sum(r.unidades), sum(r.pedidos))
+            from ResumoVendaRegiaoDia r
+            where r.id.dia between :inicio and :fim
+            group by r.id.dia
+            having sum(r.pedidos) > 0
+            order by r.id.dia
+            """)
+    List<VendaDiaDTO> somarPorDia(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Regiões com maior receita no período
+    @Query("""
+            select new br.com.aweb.sistema_vendas.dto.VendaRegiaoDTO(
+                r.id.uf, r.id.cidade, sum(r.receita), sum(r.unidades), sum(r.pedidos))
+            from ResumoVendaRegiaoDia r
+            where r.id.dia between :inicio and :fim
+            group by r.id.uf, r.id.cidade
+            having sum(r.pedidos) > 0
+            order by sum(r.receita) desc, r.id.uf, r.id.cidade
+            """)
+    List<VendaRegiaoDTO> somarPorRegiao(@Param("inicio") LocalDate inicio,
+                                        @Param("fim") LocalDate fim,
+                                        Limit limit);
+}
@@ -0,0 +1,42 @@
+package br.com.aweb.sistema_vendas.seguranca;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Autentica as requisições da API pelo cabeçalho "Authorization: Bearer <token>".
+// Token ausente ou inválido segue sem autenticação e o SecurityConfig responde 401.
+public class TokenApiFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO = "Bearer ";
+
+    private final TokenApiService tokenApiService;
+    private final SecurityContextHolderStrategy contextos = SecurityContextHolder.getContextHolderStrategy();
+
+    public TokenApiFilter(TokenApiService tokenApiService) {
+        this.tokenApiService = tokenApiService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecalho != null && cabecalho.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) {
+            tokenApiService.verificar(cabecalho.substring(PREFIXO.length()).trim()).ifPresent(autenticacao -> {
+                SecurityContext contexto = contextos.createEmptyContext();
+                contexto.setAuthentication(autenticacao);
+                contextos.setContext(contexto);
+            });
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.aweb.sistema_vendas.seguranca;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+// Tokens assinados (HMAC-SHA256) da API /api/**: "base64(usuario|expiraEm|perfis).base64(assinatura)".
+// O bcrypt roda uma vez, ao emitir o token; cada requisição só recalcula um HMAC e lê os perfis
+// do próprio token, sem sessão nem consulta a usuários. Não há revogação: a validade é curta.
+@Component
+public class TokenApiService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenApiService.class);
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
+    // Mac não é thread-safe: cada uso clona o protótipo já inicializado com a chave
+    private final Mac prototipo;
+    private final Duration validade;
+    private final Clock relogio;
+
+    public record TokenEmitido(String token, Instant expiraEm) {
+    }
+
+    @Autowired
+    public TokenApiService(@Value("${vendas.api.token.segredo:}") String segredo,
+            @Value("${vendas.api.token.validade:1h}") Duration validade) {
+        this(segredo, validade, Clock.systemUTC());
+    }
+
+    TokenApiService(String segredo, Duration validade, Clock relogio) {
+        this.validade = validade;
+        this.relogio = relogio;
+        byte[] chave;
+        if (segredo == null || segredo.isBlank()) {
+            // Sem segredo configurado os tokens só valem até a aplicação reiniciar (e só nesta instância)
+            chave = new byte[32];
+            new SecureRandom().nextBytes(chave);
+            log.warn("vendas.api.token.segredo não configurado: usando chave aleatória desta execução");
+        } else {
+            chave = segredo.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            prototipo = Mac.getInstance(ALGORITMO);
+            prototipo.init(new SecretKeySpec(chave, ALGORITMO));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC indisponível", e);
+        }
+    }
+
+    // Emite o token para um usuário já autenticado (login com senha)
+    public TokenEmitido emitir(Authentication autenticacao) {
+        Instant expiraEm = relogio.instant().plus(validade);
+        String perfis = autenticacao.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String conteudo = autenticacao.getName() + "|" + expiraEm.getEpochSecond() + "|" + perfis;
+        byte[] bytes = conteudo.getBytes(StandardCharsets.UTF_8);
+        return new TokenEmitido(BASE64.encodeToString(bytes) + "." + BASE64.encodeToString(assinar(bytes)), expiraEm);
+    }
+
+    // Autenticação do token, ou vazio se a assinatura não confere, o formato é inválido ou expirou
+    public Optional<Authentication> verificar(String token) {
+        int ponto = token.indexOf('.');
+        if (ponto <= 0 || ponto == token.length() - 1) {
+            return Optional.empty();
+        }
+        byte[] conteudo;
+        byte[] assinatura;
+        try {
+            conteudo = BASE64_DECODER.decode(token.substring(0, ponto));
+            assinatura = BASE64_DECODER.decode(token.substring(ponto + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        // Comparação em tempo constante: não revela quantos bytes da assinatura estão certos
+        if (!MessageDigest.isEqual(assinar(conteudo), assinatura)) {
+            return Optional.empty();
+        }
+
+        String[] partes = new String(conteudo, StandardCharsets.UTF_8).split("\\|", -1);
+        if (partes.length != 3) {
+            return Optional.empty();
+        }
+        long expiraEm;
+        try {
+            expiraEm = Long.parseLong(partes[1]);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (relogio.instant().getEpochSecond() >= expiraEm) {
+            return Optional.empty();
+        }
+
+        Collection<GrantedAuthority> perfis = partes[2].isEmpty() ? List.of()
+                : Arrays.stream(partes[2].split(","))
+                        .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                        .toList();
+        return Optional.of(UsernamePasswordAuthenticationToken.authenticated(partes[0], null, perfis));
+    }
+
+    private byte[] assinar(byte[] conteudo) {
+        try {
+            return ((Mac) prototipo.clone()).doFinal(conteudo);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
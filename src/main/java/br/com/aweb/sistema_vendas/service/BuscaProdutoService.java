@@ -0,0 +1,218 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import br.com.aweb.sistema_vendas.dto.ProdutoBuscaDTO;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+import lombok.RequiredArgsConstructor;
+
+// Índice de prefixos em memória sobre nome/descrição dos produtos.
+// Cada palavra normalizada (minúscula, sem acento) aponta para os ids que a contêm;
+// a busca percorre apenas a faixa do mapa ordenado que começa com o prefixo digitado.
+// Montado na subida da aplicação e atualizado pelas escritas do ProdutoService.
+// As buscas leem sem bloqueio; as alterações passam uma de cada vez por um lock (ReentrantLock,
+// que não prende a thread portadora de uma thread virtual), inclusive a remontagem.
+@Service
+@RequiredArgsConstructor
+public class BuscaProdutoService {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaProdutoService.class);
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ProdutoRepository produtoRepository;
+
+    private final ReentrantLock escrita = new ReentrantLock();
+    private volatile Indice indice = new Indice();
+
+    private record Indice(Map<Long, Documento> documentos, ConcurrentSkipListMap<String, Set<Long>> termos) {
+
+        Indice() {
+            this(new ConcurrentHashMap<>(), new ConcurrentSkipListMap<>());
+        }
+    }
+
+    private record Documento(ProdutoBuscaDTO produto, String nomeNormalizado, List<String> termosNome, Set<String> termos) {
+    }
+
+    // Monta um índice novo a partir do banco e só então o troca pelo atual: as buscas
+    // continuam respondendo com o índice anterior, nunca com um índice vazio ou pela metade.
+    // Segura o lock de escrita até a troca, para que nenhuma alteração caia no índice descartado
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        escrita.lock();
+        try {
+            Indice novo = new Indice();
+            produtoRepository.findAll().forEach(produto -> indexar(novo, produto));
+            indice = novo;
+            log.info("Índice de busca de produtos montado com {} produto(s)", novo.documentos().size());
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Inclui ou atualiza um produto no índice
+    public void indexar(Produto produto) {
+        escrita.lock();
+        try {
+            indexar(indice, produto);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Retira um produto do índice
+    public void remover(Long produtoId) {
+        escrita.lock();
+        try {
+            remover(indice, produtoId);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    // Mantém o saldo exibido na busca alinhado às reservas/devoluções de estoque
+    public void ajustarEstoque(Long produtoId, int delta) {
+        escrita.lock();
+        try {
+            indice.documentos().computeIfPresent(produtoId, (id, doc) -> {
+                ProdutoBuscaDTO p = doc.produto();
+                ProdutoBuscaDTO atualizado = new ProdutoBuscaDTO(p.id(), p.nome(), p.descricao(), p.preco(),
+                        p.quantidadeEmEstoque() + delta);
+                return new Documento(atualizado, doc.nomeNormalizado(), doc.termosNome(), doc.termos());
+            });
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private static void indexar(Indice indice, Produto produto) {
+        remover(indice, produto.getId());
+
+        List<String> termosNome = tokenizar(produto.getNome());
+        Set<String> todosTermos = new HashSet<>(termosNome);
+        todosTermos.addAll(tokenizar(produto.getDescricao()));
+
+        ProdutoBuscaDTO dto = new ProdutoBuscaDTO(produto.getId(), produto.getNome(), produto.getDescricao(),
+                produto.getPreco(), produto.getQuantidadeEmEstoque());
+        indice.documentos().put(produto.getId(),
+                new Documento(dto, normalizar(produto.getNome()), termosNome, todosTermos));
+        // A inclusão no conjunto acontece dentro do compute, junto com a criação da entrada
+        todosTermos.forEach(termo -> indice.termos().compute(termo, (t, ids) -> {
+            Set<Long> conjunto = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            conjunto.add(produto.getId());
+            return conjunto;
+        }));
+    }
+
+    private static void remover(Indice indice, Long produtoId) {
+        Documento anterior = indice.documentos().remove(produtoId);
+        if (anterior == null) {
+            return;
+        }
+        anterior.termos().forEach(termo -> indice.termos().computeIfPresent(termo, (t, ids) -> {
+            ids.remove(produtoId);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    // Retorna até "limite" produtos cujas palavras começam com todos os termos da consulta.
+    // Ordem: nome começando pela consulta, depois termos achados no nome, depois só na descrição.
+    public List<ProdutoBuscaDTO> buscar(String consulta, int limite) {
+        List<String> prefixos = tokenizar(consulta);
+        if (prefixos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        // Uma leitura só do índice: uma remontagem no meio da busca não mistura os dois
+        Indice atual = indice;
+        Set<Long> candidatos = null;
+        for (String prefixo : prefixos) {
+            Set<Long> ids = idsComPrefixo(atual, prefixo);
+            if (candidatos == null) {
+                candidatos = ids;
+            } else {
+                candidatos.retainAll(ids);
+            }
+            if (candidatos.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        String consultaNormalizada = String.join(" ", prefixos);
+        Comparator<Documento> ordem = Comparator
+                .comparingInt((Documento d) -> relevancia(d, consultaNormalizada, prefixos))
+                .thenComparing(Documento::nomeNormalizado)
+                .thenComparing(d -> d.produto().id());
+
+        // Mantém só os "limite" melhores, sem ordenar todos os candidatos
+        PriorityQueue<Documento> melhores = new PriorityQueue<>(ordem.reversed());
+        for (Long id : candidatos) {
+            Documento doc = atual.documentos().get(id);
+            if (doc == null) {
+                continue;
+            }
+            melhores.add(doc);
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+
+        List<ProdutoBuscaDTO> resultado = new ArrayList<>(melhores.size());
+        while (!melhores.isEmpty()) {
+            resultado.add(melhores.poll().produto());
+        }
+        return resultado.reversed();
+    }
+
+    private static Set<Long> idsComPrefixo(Indice indice, String prefixo) {
+        Set<Long> ids = new HashSet<>();
+        indice.termos().subMap(prefixo, true, prefixo + Character.MAX_VALUE, true)
+                .values()
+                .forEach(ids::addAll);
+        return ids;
+    }
+
+    private int relevancia(Documento doc, String consulta, List<String> prefixos) {
+        if (doc.nomeNormalizado().startsWith(consulta)) {
+            return 0;
+        }
+        boolean todosNoNome = prefixos.stream()
+                .allMatch(prefixo -> doc.termosNome().stream().anyMatch(t -> t.startsWith(prefixo)));
+        return todosNoNome ? 1 : 2;
+    }
+
+    private static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        return SEPARADORES.splitAsStream(normalizar(texto))
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static String normalizar(String texto) {
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase().trim();
+    }
+}
@@ -1,40 +1,115 @@
 package br.com.aweb.sistema_vendas.service;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.aweb.sistema_vendas.dto.ClienteResumoDTO;
+import br.com.aweb.sistema_vendas.dto.FiltroClientes;
+import br.com.aweb.sistema_vendas.dto.PaginaClientes;
 import br.com.aweb.sistema_vendas.model.Cliente;
 import br.com.aweb.sistema_vendas.repository.ClienteRepository;
-import jakarta.transaction.Transactional;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService.Catalogo;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("vendas.servico")
 public class ClienteService {
 
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private VersaoCatalogoService versaoCatalogoService;
+
     // CREATE
     @Transactional
     public Cliente salvar(Cliente cliente) {
-        if (clienteRepository.existsByEmail(cliente.getEmail())) {
-            throw new IllegalArgumentException("E-mail já cadastrado.");
+        // E-mail/CPF duplicados são barrados pelas constraints únicas, no próprio INSERT
+        try {
+            Cliente clienteSalvo = clienteRepository.saveAndFlush(cliente);
+            versaoCatalogoService.alterado(Catalogo.CLIENTES);
+            return clienteSalvo;
+        } catch (DataIntegrityViolationException e) {
+            // O persist já tinha atribuído o id da sequência; o INSERT foi desfeito, e o formulário
+            // devolvido com o erro tem que continuar sendo um cadastro novo, não a edição desse id
+            cliente.setId(null);
+            throw traduzirViolacao(e);
         }
-        if (clienteRepository.existsByCpf(cliente.getCpf())) {
-            throw new IllegalArgumentException("CPF já cadastrado.");
-        }
-        Cliente clienteSalvo = clienteRepository.save(cliente);
-        return clienteSalvo;
     }
 
     // READ
+    @Transactional(readOnly = true)
     public List<Cliente> listarTodos() {
         List<Cliente> clientes = clienteRepository.findAll();
         return clientes;
     }
 
+    // READ - Listagem paginada por cursor (nome, id), filtrada no banco e sem carregar entidades.
+    // No primário: a página vai com a ETag da versão atual, e vinda de uma réplica atrasada ficaria
+    // guardada no navegador com o conteúdo antigo até a próxima alteração
+    @Transactional
+    public PaginaClientes listarPagina(FiltroClientes filtro, String cursorNome, Long cursorId, int tamanho) {
+        String busca = vazioComoNulo(filtro.busca());
+        String nome = null;
+        String cpf = null;
+        String email = null;
+        if (busca != null) {
+            String digitos = busca.replaceAll("[.\\-\\s]", "");
+            if (busca.contains("@")) {
+                email = prefixo(busca);
+            } else if (digitos.length() == 11 && digitos.chars().allMatch(Character::isDigit)) {
+                cpf = digitos;
+            } else {
+                nome = prefixo(busca);
+            }
+        }
+        String cidade = vazioComoNulo(filtro.cidade());
+        if (cidade != null) {
+            cidade = prefixo(cidade);
+        }
+        String uf = vazioComoNulo(filtro.uf());
+        if (uf != null) {
+            uf = uf.toUpperCase(Locale.ROOT);
+        }
+        if (cursorNome == null || cursorId == null) {
+            cursorNome = null;
+            cursorId = null;
+        }
+
+        // Busca um registro a mais só para saber se existe próxima página
+        List<ClienteResumoDTO> clientes = clienteRepository.listarResumos(nome, cpf, email, cidade, uf,
+                cursorNome, cursorId, Limit.of(tamanho + 1));
+
+        if (clientes.size() <= tamanho) {
+            return new PaginaClientes(clientes, null, null);
+        }
+
+        clientes = clientes.subList(0, tamanho);
+        ClienteResumoDTO ultimo = clientes.get(tamanho - 1);
+        return new PaginaClientes(clientes, ultimo.nome(), ultimo.id());
+    }
+
+    private static String vazioComoNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
+    // Padrão de LIKE por prefixo, em minúsculas, com os curingas digitados escapados
+    private static String prefixo(String valor) {
+        return valor.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Cliente> buscarPorId(Long id) {
         Optional<Cliente> optionalCliente = clienteRepository.findById(id);
         return optionalCliente;
@@ -50,20 +125,6 @@ public class ClienteService {
 
         Cliente clienteExistente = optionalCliente.get();
 
-        // valida e-mail se alterado
-        if (!clienteExistente.getEmail().equals(clienteAtualizado.getEmail())) {
-            if (clienteRepository.existsByEmail(clienteAtualizado.getEmail())) {
-                throw new IllegalArgumentException("E-mail já cadastrado.");
-            }
-        }
-
-        // valida CPF se alterado
-        if (!clienteExistente.getCpf().equals(clienteAtualizado.getCpf())) {
-            if (clienteRepository.existsByCpf(clienteAtualizado.getCpf())) {
-                throw new IllegalArgumentException("CPF já cadastrado.");
-            }
-        }
-
         // atualiza os campos
         clienteExistente.setNome(clienteAtualizado.getNome());
         clienteExistente.setEmail(clienteAtualizado.getEmail());
@@ -77,8 +138,14 @@ public class ClienteService {
         clienteExistente.setUf(clienteAtualizado.getUf());
         clienteExistente.setCep(clienteAtualizado.getCep());
 
-        Cliente clienteSalvo = clienteRepository.save(clienteExistente);
-        return clienteSalvo;
+        // e-mail/CPF alterados para valores de outro cliente falham no UPDATE
+        try {
+            Cliente clienteSalvo = clienteRepository.saveAndFlush(clienteExistente);
+            versaoCatalogoService.alterado(Catalogo.CLIENTES);
+            return clienteSalvo;
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacao(e);
+        }
     }
 
     // DELETE
@@ -88,6 +155,23 @@ public class ClienteService {
             throw new IllegalArgumentException("Cliente não encontrado.");
         }
         clienteRepository.deleteById(id);
+        versaoCatalogoService.alterado(Catalogo.CLIENTES);
+    }
+
+    // Converte a violação de unicidade na mesma mensagem que o ClienteController associa ao campo
+    private RuntimeException traduzirViolacao(DataIntegrityViolationException e) {
+        String violacao = e.getCause() instanceof ConstraintViolationException cve && cve.getConstraintName() != null
+                ? cve.getConstraintName()
+                : String.valueOf(e.getMostSpecificCause().getMessage());
+        violacao = violacao.toLowerCase();
+
+        if (violacao.contains(Cliente.UK_EMAIL)) {
+            return new IllegalArgumentException("E-mail já cadastrado.");
+        }
+        if (violacao.contains(Cliente.UK_CPF)) {
+            return new IllegalArgumentException("CPF já cadastrado.");
+        }
+        return e;
     }
 
 }
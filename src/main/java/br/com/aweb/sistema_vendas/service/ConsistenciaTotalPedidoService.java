@@ -0,0 +1,83 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.dto.DivergenciaTotalDTO;
+import lombok.RequiredArgsConstructor;
+
+// Confere, direto no banco, se o valor_total mantido incrementalmente pelo
+// PedidoService bate com a soma dos itens de cada pedido.
+@Service
+@RequiredArgsConstructor
+public class ConsistenciaTotalPedidoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsistenciaTotalPedidoService.class);
+
+    private static final String SQL_DIVERGENCIAS = """
+            select p.id, p.valor_total, coalesce(sum(i.preco_unitario * i.quantidade), 0) as valor_calculado
+            from pedidos p
+            left join itens_pedido i on i.pedido_id = p.id
+            group by p.id, p.valor_total
+            having p.valor_total <> coalesce(sum(i.preco_unitario * i.quantidade), 0)
+            order by p.id
+            """;
+
+    // Recalcula o total a partir dos itens e incrementa a versão (respeita o lock otimista)
+    private static final String SQL_CORRIGIR = """
+            update pedidos
+            set valor_total = (select coalesce(sum(i.preco_unitario * i.quantidade), 0)
+                               from itens_pedido i where i.pedido_id = pedidos.id),
+                version = coalesce(version, 0) + 1
+            where id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${vendas.pedidos.verificacao-total.corrigir:false}")
+    private boolean corrigirAutomaticamente;
+
+    // Lista os pedidos com total divergente
+    public List<DivergenciaTotalDTO> verificar() {
+        return jdbcTemplate.query(SQL_DIVERGENCIAS, (rs, linha) -> new DivergenciaTotalDTO(
+                rs.getLong("id"),
+                rs.getBigDecimal("valor_total"),
+                rs.getBigDecimal("valor_calculado")));
+    }
+
+    // Corrige os pedidos informados com o total calculado no banco, todos numa única transação.
+    // TransactionTemplate e não @Transactional: a rotina agendada chama este método sem passar pelo proxy
+    public void corrigir(List<DivergenciaTotalDTO> divergencias) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_CORRIGIR,
+                divergencias.stream()
+                        .map(d -> new Object[] { d.pedidoId() })
+                        .toList()));
+    }
+
+    // Rotina em lote: desligada por padrão ("-"); ex.: vendas.pedidos.verificacao-total.cron=0 0 3 * * *
+    @Scheduled(cron = "${vendas.pedidos.verificacao-total.cron:-}")
+    public void executarVerificacao() {
+        List<DivergenciaTotalDTO> divergencias = verificar();
+        if (divergencias.isEmpty()) {
+            log.info("Verificação de totais: nenhum pedido divergente");
+            return;
+        }
+
+        log.warn("Verificação de totais: {} pedido(s) divergente(s)", divergencias.size());
+        divergencias.forEach(d -> log.warn("Pedido {}: registrado={} calculado={}",
+                d.pedidoId(), d.valorRegistrado(), d.valorCalculado()));
+
+        if (corrigirAutomaticamente) {
+            corrigir(divergencias);
+            log.info("Verificação de totais: {} pedido(s) corrigido(s)", divergencias.size());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.dto.EventoPedidoDTO;
+import br.com.aweb.sistema_vendas.model.StatusEventoPedido;
+import br.com.aweb.sistema_vendas.model.TipoEventoPedido;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Entrega os eventos do outbox (eventos_pedido) aos ManipuladorEventoPedido registrados.
+// Cada rodada reserva um lote de eventos vencidos numa transação curta (FOR UPDATE SKIP LOCKED:
+// várias instâncias dividem a fila sem disputar as mesmas linhas) e adia a próxima tentativa deles
+// pelo prazo da reserva; a entrega acontece depois, fora de transação. Falhas são reagendadas com
+// espera exponencial até o limite de tentativas, quando o evento fica como FALHOU. Os eventos de um
+// mesmo pedido são entregues na ordem em que foram gravados.
+@Service
+public class DespachoEventosPedidoService {
+
+    private static final Logger log = LoggerFactory.getLogger(DespachoEventosPedidoService.class);
+
+    // Se a instância cair no meio da entrega, o evento volta a vencer depois deste prazo
+    private static final Duration RESERVA = Duration.ofMinutes(5);
+    private static final Duration ESPERA_INICIAL = Duration.ofSeconds(5);
+    private static final Duration ESPERA_MAXIMA = Duration.ofHours(1);
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    // Um evento só sai depois de todos os anteriores do mesmo pedido: enquanto o FINALIZADO espera
+    // nova tentativa, o CANCELADO seguinte não pode chegar antes dele aos manipuladores
+    private static final String SQL_VENCIDOS = """
+            select e.id, e.pedido_id, e.tipo, e.criado_em, e.tentativas
+            from eventos_pedido e
+            where e.status = 'PENDENTE' and e.proxima_tentativa <= ?
+              and not exists (select 1 from eventos_pedido e2
+                              where e2.pedido_id = e.pedido_id and e2.id < e.id and e2.status = 'PENDENTE')
+            order by e.proxima_tentativa, e.id
+            limit ?
+            for update of e skip locked
+            """;
+    private static final String SQL_RESERVAR =
+            "update eventos_pedido set proxima_tentativa = ?, tentativas = tentativas + 1 where id = ?";
+    private static final String SQL_PROCESSADO =
+            "update eventos_pedido set status = 'PROCESSADO', processado_em = ?, erro = null where id = ?";
+    private static final String SQL_FALHA =
+            "update eventos_pedido set status = ?, proxima_tentativa = ?, erro = ? where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<ManipuladorEventoPedido> manipuladores;
+    private final Counter processados;
+    private final Counter falhas;
+    private final Counter descartados;
+
+    @Value("${vendas.outbox.tamanho-lote:100}")
+    private int tamanhoLote;
+
+    @Value("${vendas.outbox.max-tentativas:10}")
+    private int maxTentativas;
+
+    public DespachoEventosPedidoService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            List<ManipuladorEventoPedido> manipuladores, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.manipuladores = manipuladores;
+        this.processados = contador(registry, "processado");
+        this.falhas = contador(registry, "falha");
+        this.descartados = contador(registry, "descartado");
+        if (manipuladores.isEmpty()) {
+            log.info("Nenhum ManipuladorEventoPedido registrado: os eventos de pedido ficam pendentes no outbox");
+        }
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("vendas.outbox.entregas")
+                .description("Entregas de eventos de pedido aos manipuladores")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    // Rotina de despacho: sem vendas.outbox.cron fica desligada ("-"); o application.properties a liga a
+    // cada segundo. Segue enquanto encontrar lotes cheios, para esvaziar a fila sem esperar a próxima rodada
+    @Scheduled(cron = "${vendas.outbox.cron:-}")
+    public void executarDespacho() {
+        while (despachar() == tamanhoLote) {
+            // próximo lote
+        }
+    }
+
+    // Reserva e entrega um lote de eventos vencidos; devolve quantos foram reservados.
+    // Sem manipuladores registrados nada é reservado: marcar os eventos como PROCESSADO os perderia,
+    // então eles ficam pendentes até a aplicação subir com quem os trate
+    public int despachar() {
+        if (manipuladores.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoPedidoDTO> lote = transactionTemplate.execute(status -> reservar(agora));
+        for (EventoPedidoDTO evento : lote) {
+            entregar(evento);
+        }
+        return lote.size();
+    }
+
+    private List<EventoPedidoDTO> reservar(LocalDateTime agora) {
+        List<EventoPedidoDTO> lote = jdbcTemplate.query(SQL_VENCIDOS, (rs, linha) -> new EventoPedidoDTO(
+                rs.getLong("id"),
+                rs.getLong("pedido_id"),
+                TipoEventoPedido.valueOf(rs.getString("tipo")),
+                rs.getTimestamp("criado_em").toLocalDateTime(),
+                rs.getInt("tentativas") + 1), Timestamp.valueOf(agora), tamanhoLote);
+
+        Timestamp fimDaReserva = Timestamp.valueOf(agora.plus(RESERVA));
+        jdbcTemplate.batchUpdate(SQL_RESERVAR, lote.stream()
+                .map(e -> new Object[] { fimDaReserva, e.id() })
+                .toList());
+        return lote;
+    }
+
+    private void entregar(EventoPedidoDTO evento) {
+        try {
+            for (ManipuladorEventoPedido manipulador : manipuladores) {
+                manipulador.tratar(evento);
+            }
+            jdbcTemplate.update(SQL_PROCESSADO, Timestamp.valueOf(LocalDateTime.now()), evento.id());
+            processados.increment();
+        } catch (Exception e) {
+            boolean desistir = evento.tentativa() >= maxTentativas;
+            jdbcTemplate.update(SQL_FALHA,
+                    (desistir ? StatusEventoPedido.FALHOU : StatusEventoPedido.PENDENTE).name(),
+                    Timestamp.valueOf(LocalDateTime.now().plus(espera(evento.tentativa()))),
+                    resumir(e),
+                    evento.id());
+            if (desistir) {
+                descartados.increment();
+                log.error("Evento {} do pedido {} descartado após {} tentativas", evento.id(), evento.pedidoId(),
+                        evento.tentativa(), e);
+            } else {
+                falhas.increment();
+                log.warn("Falha ao entregar o evento {} do pedido {} (tentativa {}): {}", evento.id(),
+                        evento.pedidoId(), evento.tentativa(), e.toString());
+            }
+        }
+    }
+
+    // 5s, 10s, 20s... até 1h
+    static Duration espera(int tentativa) {
+        Duration espera = ESPERA_INICIAL.multipliedBy(1L << Math.min(tentativa - 1, 20));
+        return espera.compareTo(ESPERA_MAXIMA) > 0 ? ESPERA_MAXIMA : espera;
+    }
+
+    private static String resumir(Exception e) {
+        String erro = e.toString();
+        return erro.length() <= TAMANHO_MAXIMO_ERRO ? erro : erro.substring(0, TAMANHO_MAXIMO_ERRO);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.aweb.sistema_vendas.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.aweb.sistema_vendas.model.EventoPedido;
+import br.com.aweb.sistema_vendas.model.TipoEventoPedido;
+import br.com.aweb.sistema_vendas.repository.EventoPedidoRepository;
+import lombok.RequiredArgsConstructor;
+
+// Grava os eventos de pedido (outbox) na transação de quem muda o estado do pedido:
+// o evento existe se e somente se a mudança foi confirmada. A entrega fica com o
+// DespachoEventosPedidoService, fora da transação e dos locks do pedido.
+@Service
+@RequiredArgsConstructor
+public class EventoPedidoService {
+
+    private final EventoPedidoRepository eventoPedidoRepository;
+
+    @Transactional
+    public void registrar(Long pedidoId, TipoEventoPedido tipo) {
+        eventoPedidoRepository.save(new EventoPedido(pedidoId, tipo));
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.aweb.sistema_vendas.dto.LinhaExportacaoPedidoDTO;
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+import br.com.aweb.sistema_vendas.repository.PedidoRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+// Exportação de pedidos e itens (financeiro) escrita direto na saída, linha a linha.
+// As linhas vêm de um cursor no banco como DTOs, então nada se acumula no contexto de
+// persistência nem em listas: o heap usado não depende do número de pedidos exportados.
+// Transações somente leitura: o Hibernate não faz flush nem guarda snapshots, e com réplica
+// configurada a exportação roda nela.
+@Service
+@Timed("vendas.servico")
+@RequiredArgsConstructor
+public class ExportacaoPedidoService {
+
+    private static final String CABECALHO_CSV =
+            "pedido_id;data_pedido;status;cliente_nome;cliente_cpf;valor_total;item_id;produto_id;produto_nome;quantidade;preco_unitario";
+
+    private final PedidoRepository pedidoRepository;
+    private final ObjectMapper objectMapper;
+
+    // CSV separado por ';' (UTF-8), uma linha por item
+    @Transactional(readOnly = true)
+    public void exportarCsv(StatusPedido status, LocalDateTime inicio, LocalDateTime fim, OutputStream saida)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CABECALHO_CSV);
+        writer.write('\n');
+
+        try (Stream<LinhaExportacaoPedidoDTO> linhas = pedidoRepository.exportar(status, inicio, fim)) {
+            Iterator<LinhaExportacaoPedidoDTO> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                LinhaExportacaoPedidoDTO linha = iterator.next();
+                writer.write(String.valueOf(linha.pedidoId()));
+                writer.write(';');
+                writer.write(linha.dataPedido().toString());
+                writer.write(';');
+                writer.write(linha.status().name());
+                writer.write(';');
+                writer.write(campoCsv(linha.clienteNome()));
+                writer.write(';');
+                writer.write(linha.clienteCpf());
+                writer.write(';');
+                writer.write(decimal(linha.valorTotal()));
+                writer.write(';');
+                writer.write(linha.itemId() == null ? "" : String.valueOf(linha.itemId()));
+                writer.write(';');
+                writer.write(linha.produtoId() == null ? "" : String.valueOf(linha.produtoId()));
+                writer.write(';');
+                writer.write(campoCsv(linha.produtoNome()));
+                writer.write(';');
+                writer.write(linha.quantidade() == null ? "" : String.valueOf(linha.quantidade()));
+                writer.write(';');
+                writer.write(decimal(linha.precoUnitario()));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    // JSON: um array com uma linha (objeto) por item, gerado em fluxo
+    @Transactional(readOnly = true)
+    public void exportarJson(StatusPedido status, LocalDateTime inicio, LocalDateTime fim, OutputStream saida)
+            throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(saida, JsonEncoding.UTF8);
+                Stream<LinhaExportacaoPedidoDTO> linhas = pedidoRepository.exportar(status, inicio, fim)) {
+            // A resposta HTTP é fechada pelo Spring, não pelo gerador
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            linhas.forEach(linha -> {
+                try {
+                    json.writeObject(linha);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+        }
+    }
+
+    private static String decimal(BigDecimal valor) {
+        return valor == null ? "" : valor.toPlainString();
+    }
+
+    // Aspas só quando o texto contém separador, aspas ou quebra de linha
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(';') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,257 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.config.CacheConfig;
+import br.com.aweb.sistema_vendas.dto.ErroImportacaoDTO;
+import br.com.aweb.sistema_vendas.dto.RelatorioImportacao;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService.Catalogo;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+// Importação em massa de clientes e produtos a partir de CSV.
+// O arquivo é lido registro a registro; cada linha passa pela mesma Bean Validation dos
+// formulários e as válidas são gravadas em lotes JDBC, cada lote na sua própria transação.
+// A memória usada fica limitada ao tamanho do lote e à lista de erros do relatório.
+@Service
+@Timed("vendas.servico")
+@RequiredArgsConstructor
+public class ImportacaoService {
+
+    private static final int MAX_ERROS_RELATORIO = 1000;
+
+    // E-mail/CPF já existentes (no banco ou repetidos no próprio arquivo) não derrubam o lote:
+    // a linha simplesmente não é inserida e volta como erro no relatório.
+    // O id vem da mesma sequência das entidades; cada nextval aqui só pula um bloco do Hibernate
+    private static final String SQL_CLIENTE = """
+            insert into clientes (id, nome, email, cpf, telefone, logradouro, numero, complemento, bairro, cidade, uf, cep)
+            values (nextval('clientes_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict do nothing
+            """;
+    private static final String SQL_PRODUTO = """
+            insert into produtos (id, nome, descricao, preco, quantidade_em_estoque)
+            values (nextval('produtos_seq'), ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final BuscaProdutoService buscaProdutoService;
+    private final VersaoCatalogoService versaoCatalogoService;
+
+    @Value("${vendas.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    public RelatorioImportacao importarClientes(InputStream csv) throws IOException {
+        try {
+            return importar("clientes", csv,
+                    Set.of("nome", "email", "cpf", "telefone", "logradouro", "bairro", "cidade", "uf", "cep"),
+                    this::paraCliente, SQL_CLIENTE,
+                    c -> new Object[] { c.getNome(), c.getEmail(), c.getCpf(), c.getTelefone(), c.getLogradouro(),
+                            c.getNumero(), c.getComplemento(), c.getBairro(), c.getCidade(), c.getUf(), c.getCep() },
+                    "E-mail ou CPF já cadastrado.");
+        } finally {
+            versaoCatalogoService.alterado(Catalogo.CLIENTES);
+        }
+    }
+
+    public RelatorioImportacao importarProdutos(InputStream csv) throws IOException {
+        try {
+            return importar("produtos", csv,
+                    Set.of("nome", "descricao", "preco", "quantidadeEmEstoque"),
+                    this::paraProduto, SQL_PRODUTO,
+                    p -> new Object[] { p.getNome(), p.getDescricao(), p.getPreco(), p.getQuantidadeEmEstoque() },
+                    null);
+        } finally {
+            // Os INSERTs não passam pelo Hibernate: descarta as consultas em cache do catálogo
+            // e remonta o índice de busca com o que foi gravado (mesmo numa importação parcial)
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            cacheManager.getCache(CacheConfig.PRODUTOS).clear();
+            cacheManager.getCache(CacheConfig.CATALOGO_PRODUTOS).clear();
+            buscaProdutoService.reconstruir();
+            versaoCatalogoService.alterado(Catalogo.PRODUTOS);
+        }
+    }
+
+    private <T> RelatorioImportacao importar(String tipo, InputStream csv, Set<String> obrigatorias,
+            Function<Map<String, String>, T> conversor, String sql, Function<T, Object[]> parametros,
+            String mensagemNaoInserida) throws IOException {
+        Relatorio relatorio = new Relatorio(tipo);
+
+        try (LeitorCsv leitor = new LeitorCsv(csv)) {
+            List<String> ausentes = obrigatorias.stream().filter(c -> !leitor.possuiColuna(c)).sorted().toList();
+            if (!ausentes.isEmpty()) {
+                throw new IllegalArgumentException("Colunas obrigatórias ausentes no cabeçalho: " + String.join(", ", ausentes));
+            }
+
+            List<Long> linhas = new ArrayList<>(tamanhoLote);
+            List<Object[]> lote = new ArrayList<>(tamanhoLote);
+            Map<String, String> registro;
+
+            while ((registro = leitor.proximo()) != null) {
+                relatorio.linhasLidas++;
+                long linha = leitor.getLinha();
+
+                T entidade;
+                try {
+                    entidade = conversor.apply(registro);
+                } catch (IllegalArgumentException e) {
+                    relatorio.rejeitar(linha, e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<T>> violacoes = validator.validate(entidade);
+                if (!violacoes.isEmpty()) {
+                    relatorio.rejeitar(linha, violacoes.stream()
+                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                linhas.add(linha);
+                lote.add(parametros.apply(entidade));
+                if (lote.size() == tamanhoLote) {
+                    gravarLote(sql, linhas, lote, mensagemNaoInserida, relatorio);
+                }
+            }
+            gravarLote(sql, linhas, lote, mensagemNaoInserida, relatorio);
+        }
+
+        return relatorio.concluir();
+    }
+
+    // Grava o lote numa transação; se o banco recusar o lote, regrava linha a linha para
+    // que só as linhas com problema fiquem de fora
+    private void gravarLote(String sql, List<Long> linhas, List<Object[]> lote, String mensagemNaoInserida,
+            Relatorio relatorio) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        try {
+            int[] resultados = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, lote));
+            for (int i = 0; i < resultados.length; i++) {
+                if (resultados[i] == 0) {
+                    relatorio.rejeitar(linhas.get(i), mensagemNaoInserida);
+                } else {
+                    relatorio.importadas++;
+                }
+            }
+        } catch (DataAccessException e) {
+            for (int i = 0; i < lote.size(); i++) {
+                Object[] parametros = lote.get(i);
+                try {
+                    Integer alteradas = transactionTemplate.execute(status -> jdbcTemplate.update(sql, parametros));
+                    if (alteradas == 0) {
+                        relatorio.rejeitar(linhas.get(i), mensagemNaoInserida);
+                    } else {
+                        relatorio.importadas++;
+                    }
+                } catch (DataAccessException erroLinha) {
+                    relatorio.rejeitar(linhas.get(i), erroLinha.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        linhas.clear();
+        lote.clear();
+    }
+
+    private Cliente paraCliente(Map<String, String> registro) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(registro.get("nome"));
+        cliente.setEmail(registro.get("email"));
+        cliente.setCpf(somenteDigitos(registro.get("cpf")));
+        cliente.setTelefone(registro.get("telefone"));
+        cliente.setLogradouro(registro.get("logradouro"));
+        cliente.setNumero(registro.get("numero"));
+        cliente.setComplemento(registro.get("complemento"));
+        cliente.setBairro(registro.get("bairro"));
+        cliente.setCidade(registro.get("cidade"));
+        cliente.setUf(registro.get("uf"));
+        cliente.setCep(somenteDigitos(registro.get("cep")));
+        return cliente;
+    }
+
+    private Produto paraProduto(Map<String, String> registro) {
+        Produto produto = new Produto();
+        produto.setNome(registro.get("nome"));
+        produto.setDescricao(registro.get("descricao"));
+        produto.setPreco(decimal("preco", registro.get("preco")));
+        String quantidade = registro.get(LeitorCsv.normalizarColuna("quantidadeEmEstoque"));
+        try {
+            produto.setQuantidadeEmEstoque(quantidade == null ? null : Integer.valueOf(quantidade));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("quantidadeEmEstoque: valor inválido '" + quantidade + "'");
+        }
+        return produto;
+    }
+
+    private static String somenteDigitos(String valor) {
+        return valor == null ? null : valor.replaceAll("\\D", "");
+    }
+
+    // Aceita 1234.56 e também o formato brasileiro 1.234,56
+    private static BigDecimal decimal(String coluna, String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String normalizado = valor.contains(",") ? valor.replace(".", "").replace(',', '.') : valor;
+        try {
+            return new BigDecimal(normalizado);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(coluna + ": valor inválido '" + valor + "'");
+        }
+    }
+
+    // Acumula os totais e os primeiros erros de uma importação
+    private static class Relatorio {
+        private final String tipo;
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private long linhasLidas;
+        private long importadas;
+        private long rejeitadas;
+
+        Relatorio(String tipo) {
+            this.tipo = tipo;
+        }
+
+        void rejeitar(long linha, String mensagem) {
+            rejeitadas++;
+            if (erros.size() < MAX_ERROS_RELATORIO) {
+                erros.add(new ErroImportacaoDTO(linha, mensagem));
+            }
+        }
+
+        RelatorioImportacao concluir() {
+            // Duplicidades só aparecem ao gravar o lote, depois de erros de validação de linhas seguintes
+            erros.sort(Comparator.comparingLong(ErroImportacaoDTO::linha));
+            return new RelatorioImportacao(tipo, linhasLidas, importadas, rejeitadas, erros,
+                    rejeitadas - erros.size());
+        }
+    }
+}
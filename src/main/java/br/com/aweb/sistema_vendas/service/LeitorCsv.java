@@ -0,0 +1,177 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Leitura sequencial de CSV (UTF-8, com cabeçalho), um registro por vez, sem carregar o arquivo.
+// Aceita ';' ou ',' como separador (detectado no cabeçalho) e campos entre aspas com "" como escape.
+// Registro (ou cabeçalho) maior que MAX_REGISTRO interrompe a leitura: quase sempre são aspas sem
+// fechamento, que fariam o resto do arquivo virar um único campo acumulado na memória.
+class LeitorCsv implements AutoCloseable {
+
+    static final int MAX_REGISTRO = 64 * 1024;
+
+    private final Reader reader;
+    private final char separador;
+    private final Map<String, Integer> colunas = new HashMap<>();
+    private long linha = 1;
+    private long linhaDoRegistro;
+    private int proximo = -2;
+
+    LeitorCsv(InputStream entrada) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+
+        // Ignora o BOM que planilhas costumam gravar no início do arquivo
+        int primeiro = reader.read();
+        if (primeiro != '\uFEFF') {
+            proximo = primeiro;
+        }
+
+        String cabecalho = lerLinhaCrua();
+        separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        List<String> nomes = dividir(cabecalho);
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(normalizarColuna(nomes.get(i)), i);
+        }
+        linha = 2;
+    }
+
+    boolean possuiColuna(String nome) {
+        return colunas.containsKey(normalizarColuna(nome));
+    }
+
+    // Número da linha (no arquivo) em que começou o último registro lido
+    long getLinha() {
+        return linhaDoRegistro;
+    }
+
+    // Próximo registro como coluna -> valor, ou null no fim do arquivo; linhas em branco são puladas
+    Map<String, String> proximo() throws IOException {
+        List<String> campos;
+        do {
+            linhaDoRegistro = linha;
+            campos = lerRegistro();
+            if (campos == null) {
+                return null;
+            }
+        } while (campos.size() == 1 && campos.get(0).isBlank());
+
+        Map<String, String> registro = new HashMap<>();
+        for (Map.Entry<String, Integer> coluna : colunas.entrySet()) {
+            int indice = coluna.getValue();
+            String valor = indice < campos.size() ? campos.get(indice).trim() : "";
+            registro.put(coluna.getKey(), valor.isEmpty() ? null : valor);
+        }
+        return registro;
+    }
+
+    static String normalizarColuna(String nome) {
+        return nome.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private List<String> lerRegistro() throws IOException {
+        int c = ler();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        int tamanho = 0;
+
+        while (c != -1) {
+            if (++tamanho > MAX_REGISTRO) {
+                throw registroGrande(linhaDoRegistro);
+            }
+            if (entreAspas) {
+                if (c == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        c = seguinte;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        linha++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int seguinte = ler();
+                    if (seguinte != '\n' && seguinte != -1) {
+                        proximo = seguinte;
+                    }
+                }
+                linha++;
+                break;
+            } else {
+                campo.append((char) c);
+            }
+            c = ler();
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private String lerLinhaCrua() throws IOException {
+        StringBuilder texto = new StringBuilder();
+        int c = ler();
+        while (c != -1 && c != '\n') {
+            if (texto.length() == MAX_REGISTRO) {
+                throw registroGrande(linha);
+            }
+            if (c != '\r') {
+                texto.append((char) c);
+            }
+            c = ler();
+        }
+        return texto.toString();
+    }
+
+    private static IllegalArgumentException registroGrande(long linha) {
+        return new IllegalArgumentException(String.format(
+                "Linha %d: registro com mais de %d caracteres (aspas sem fechamento?). Importação interrompida.",
+                linha, MAX_REGISTRO));
+    }
+
+    private List<String> dividir(String texto) {
+        List<String> partes = new ArrayList<>();
+        for (String parte : texto.split(String.valueOf(separador), -1)) {
+            partes.add(parte.replace("\"", ""));
+        }
+        return partes;
+    }
+
+    private int ler() throws IOException {
+        if (proximo != -2) {
+            int c = proximo;
+            proximo = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
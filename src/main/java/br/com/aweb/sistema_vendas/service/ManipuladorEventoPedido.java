@@ -0,0 +1,12 @@
+package br.com.aweb.sistema_vendas.service;
+
+import br.com.aweb.sistema_vendas.dto.EventoPedidoDTO;
+
+// Ponto de extensão para efeitos colaterais de pedidos finalizados/cancelados (faturamento,
+// sincronização de estoque, notificações...). Basta registrar um bean que implemente esta interface.
+// A entrega é "ao menos uma vez": se qualquer manipulador falhar o evento é reentregue a todos,
+// então cada um precisa ser idempotente (por exemplo, pelo id do evento).
+public interface ManipuladorEventoPedido {
+
+    void tratar(EventoPedidoDTO evento) throws Exception;
+}
@@ -1,78 +1,166 @@
 package br.com.aweb.sistema_vendas.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.aweb.sistema_vendas.dto.ItemCestaDTO;
+import br.com.aweb.sistema_vendas.dto.PaginaPedidos;
+import br.com.aweb.sistema_vendas.dto.PedidoResumoDTO;
+import br.com.aweb.sistema_vendas.dto.VersaoPedidoDTO;
+import br.com.aweb.sistema_vendas.metricas.PedidoMetricas;
 import br.com.aweb.sistema_vendas.model.Cliente;
 import br.com.aweb.sistema_vendas.model.ItemPedido;
 import br.com.aweb.sistema_vendas.model.Pedido;
 import br.com.aweb.sistema_vendas.model.Produto;
 import br.com.aweb.sistema_vendas.model.StatusPedido;
+import br.com.aweb.sistema_vendas.model.TipoEventoPedido;
+import br.com.aweb.sistema_vendas.repository.ItemPedidoRepository;
 import br.com.aweb.sistema_vendas.repository.PedidoRepository;
 import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Timed("vendas.servico")
 @RequiredArgsConstructor
 public class PedidoService {
     
     private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
     private final ProdutoRepository produtoRepository;
+    private final ReservaEstoqueService reservaEstoqueService;
     private final ClienteService ClienteService;
+    private final PedidoMetricas pedidoMetricas;
+    private final RelatorioVendasService relatorioVendasService;
+    private final EventoPedidoService eventoPedidoService;
     
     // CREATE - Criar novo pedido
     @Transactional
     public Pedido criarPedido(Cliente cliente) {
         Pedido pedido = new Pedido(cliente);
-        return pedidoRepository.save(pedido);
+        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        pedidoMetricas.pedidoCriado();
+        return pedidoSalvo;
     }
     
     // ADICIONAR ITEM ao pedido
     @Transactional
     public void adicionarItem(Long pedidoId, Long produtoId, Integer quantidade) {
         Optional<Pedido> optionalPedido = pedidoRepository.findById(pedidoId);
-        Optional<Produto> optionalProduto = produtoRepository.findById(produtoId);
         
         if (!optionalPedido.isPresent()) {
             throw new IllegalArgumentException("Pedido não encontrado");
         }
-        if (!optionalProduto.isPresent()) {
-            throw new IllegalArgumentException("Produto não encontrado");
-        }
         
         Pedido pedido = optionalPedido.get();
-        Produto produto = optionalProduto.get();
         
         // Verificação de status do pedido
         if (pedido.getStatus() != StatusPedido.ATIVO) {
             throw new IllegalStateException("Não é possível alterar pedido cancelado");
         }
         
-        // Verificação de estoque
-        if (produto.getQuantidadeEmEstoque() < quantidade) {
-            throw new IllegalStateException("Quantidade insuficiente para o produto: " + produto.getNome());
+        // Verifica e baixa o estoque de forma atômica
+        try {
+            reservaEstoqueService.reservar(produtoId, quantidade);
+        } catch (IllegalStateException e) {
+            pedidoMetricas.estoqueInsuficiente();
+            throw e;
         }
+        Produto produto = produtoRepository.findById(produtoId).get();
         
         // Cria o item do pedido
         ItemPedido item = new ItemPedido(produto, quantidade);
         item.setPedido(pedido);
         
-        // Adiciona à lista do pedido
-        pedido.getItens().add(item);
-        
-        // Atualiza estoque
-        produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() - quantidade);
+        // Grava o item sem inicializar a coleção de itens do pedido
+        itemPedidoRepository.save(item);
         
-        // Recalcula valor total
-        calcularValorTotal(pedido);
+        // Soma apenas o valor da nova linha ao total
+        pedido.setValorTotal(pedido.getValorTotal().add(item.getSubtotal()));
         
         // Salva alterações
         pedidoRepository.save(pedido);
-        produtoRepository.save(produto);
+    }
+    
+    // ADICIONAR ITENS ao pedido (cesta inteira): tudo ou nada.
+    // Os produtos vêm numa única consulta, o estoque de todos é conferido antes de qualquer
+    // escrita e a baixa é feita em lote; se um produto não tiver saldo, nenhum item entra.
+    @Transactional
+    public void adicionarItens(Long pedidoId, List<ItemCestaDTO> cesta) {
+        if (cesta == null || cesta.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um produto");
+        }
+
+        Pedido pedido = pedidoRepository.findById(pedidoId)
+                .orElseThrow(() -> new IllegalArgumentException("Pedido não encontrado"));
+
+        // Verificação de status do pedido
+        if (pedido.getStatus() != StatusPedido.ATIVO) {
+            throw new IllegalStateException("Não é possível alterar pedido cancelado");
+        }
+
+        // Quantidade total por produto (o mesmo produto pode aparecer em mais de uma linha)
+        Map<Long, Integer> quantidades = new TreeMap<>();
+        for (ItemCestaDTO linha : cesta) {
+            if (linha.produtoId() == null) {
+                throw new IllegalArgumentException("Produto não informado");
+            }
+            if (linha.quantidade() == null || linha.quantidade() <= 0) {
+                throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+            }
+            quantidades.merge(linha.produtoId(), linha.quantidade(), Integer::sum);
+        }
+
+        Map<Long, Produto> produtos = produtoRepository.findAllById(quantidades.keySet()).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        List<Long> inexistentes = quantidades.keySet().stream().filter(id -> !produtos.containsKey(id)).toList();
+        if (!inexistentes.isEmpty()) {
+            throw new IllegalArgumentException("Produto(s) não encontrado(s): " + inexistentes);
+        }
+
+        // Conferência antecipada com o saldo lido, para recusar a cesta sem tocar no estoque;
+        // a garantia contra vendas concorrentes continua sendo o UPDATE condicional da reserva
+        List<String> semSaldo = quantidades.entrySet().stream()
+                .filter(q -> {
+                    Integer estoque = produtos.get(q.getKey()).getQuantidadeEmEstoque();
+                    return estoque == null || estoque < q.getValue();
+                })
+                .map(q -> produtos.get(q.getKey()).getNome())
+                .toList();
+        try {
+            if (!semSaldo.isEmpty()) {
+                throw new IllegalStateException("Quantidade insuficiente para o(s) produto(s): " + String.join(", ", semSaldo));
+            }
+            reservaEstoqueService.reservarEmLote(quantidades);
+        } catch (IllegalStateException e) {
+            pedidoMetricas.estoqueInsuficiente();
+            throw e;
+        }
+
+        // Um item por linha da cesta, gravados em lote sem inicializar a coleção do pedido
+        List<ItemPedido> itens = new ArrayList<>(cesta.size());
+        BigDecimal acrescimo = BigDecimal.ZERO;
+        for (ItemCestaDTO linha : cesta) {
+            ItemPedido item = new ItemPedido(produtos.get(linha.produtoId()), linha.quantidade());
+            item.setPedido(pedido);
+            itens.add(item);
+            acrescimo = acrescimo.add(item.getSubtotal());
+        }
+        itemPedidoRepository.saveAll(itens);
+
+        pedido.setValorTotal(pedido.getValorTotal().add(acrescimo));
+        pedidoRepository.save(pedido);
     }
     
     // REMOVER ITEM do pedido
@@ -91,32 +179,26 @@ public class PedidoService {
             throw new IllegalStateException("Não é possível alterar pedido cancelado");
         }
         
-        // Busca o item no pedido
-        ItemPedido itemParaRemover = null;
-        for (ItemPedido item : pedido.getItens()) {
-            if (item.getId().equals(itemId)) {
-                itemParaRemover = item;
-                break;
-            }
-        }
+        // Busca somente o item, sem carregar os demais itens do pedido
+        Optional<ItemPedido> optionalItem = itemPedidoRepository.findByIdAndPedidoId(itemId, pedidoId);
         
-        if (itemParaRemover == null) {
+        if (!optionalItem.isPresent()) {
             throw new IllegalArgumentException("Item não encontrado no pedido");
         }
         
+        ItemPedido itemParaRemover = optionalItem.get();
+        
         // Devolver estoque
-        Produto produto = itemParaRemover.getProduto();
-        produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() + itemParaRemover.getQuantidade());
+        reservaEstoqueService.devolver(itemParaRemover.getProduto().getId(), itemParaRemover.getQuantidade());
         
-        // Remove item da lista
-        pedido.getItens().remove(itemParaRemover);
+        // Remove o item
+        itemPedidoRepository.delete(itemParaRemover);
         
-        // Recalcula valor total
-        calcularValorTotal(pedido);
+        // Subtrai apenas o valor da linha removida do total
+        pedido.setValorTotal(pedido.getValorTotal().subtract(itemParaRemover.getSubtotal()));
         
         // Salva alterações
         pedidoRepository.save(pedido);
-        produtoRepository.save(produto);
     }
     
     // CANCELAR PEDIDO
@@ -129,43 +211,82 @@ public class PedidoService {
         }
         
         Pedido pedido = optionalPedido.get();
+
+        // Um segundo cancelamento devolveria o estoque e registraria o evento outra vez
+        if (pedido.getStatus() == StatusPedido.CANCELADO) {
+            throw new IllegalStateException("Pedido já cancelado");
+        }
         
-        // Devolver todos os itens ao estoque
-        for (ItemPedido item : pedido.getItens()) {
-            Produto produto = item.getProduto();
-            produto.setQuantidadeEmEstoque(produto.getQuantidadeEmEstoque() + item.getQuantidade());
-            produtoRepository.save(produto);
+        // Venda já contabilizada nos relatórios: estorna dos resumos diários
+        if (pedido.getStatus() == StatusPedido.FINALIZADO) {
+            relatorioVendasService.registrarCancelamento(pedidoId);
         }
         
+        // Devolver todos os itens ao estoque (somados por produto, em lote)
+        reservaEstoqueService.devolverEmLote(itemPedidoRepository.somarQuantidadesPorProduto(pedidoId));
+        
         // Altera status para cancelado
         pedido.setStatus(StatusPedido.CANCELADO);
         pedidoRepository.save(pedido);
-    }
-    
-    // Método para calcular valor total
-    private void calcularValorTotal(Pedido pedido) {
-        BigDecimal total = BigDecimal.ZERO;
-        
-        for (ItemPedido item : pedido.getItens()) {
-            BigDecimal valorItem = item.getPrecoUnitario()
-                .multiply(BigDecimal.valueOf(item.getQuantidade()));
-            total = total.add(valorItem);
-        }
-        
-        pedido.setValorTotal(total);
+
+        // Efeitos fora do banco (faturamento, notificações...) saem pelo outbox, depois do commit
+        eventoPedidoService.registrar(pedidoId, TipoEventoPedido.CANCELADO);
+        pedidoMetricas.pedidoCancelado();
     }
     
     // READ - Buscar pedido por ID
+    @Transactional(readOnly = true)
     public Optional<Pedido> buscarPorId(Long id) {
         return pedidoRepository.findById(id);
     }
+
+    // Leituras das telas do pedido: no primário (transação de escrita de propósito), porque são
+    // as telas abertas logo depois de cada alteração e alimentam a ETag de detalhes
+
+    // READ - Pedido com cliente, itens e produtos já carregados
+    @Transactional
+    public Optional<Pedido> buscarComItens(Long id) {
+        return pedidoRepository.findComItensById(id);
+    }
+
+    // READ - Somente cabeçalho do pedido (com cliente)
+    @Transactional
+    public Optional<Pedido> buscarCabecalho(Long id) {
+        return pedidoRepository.findCabecalhoById(id);
+    }
+    
+    // READ - Somente version e status (ETag da tela de detalhes)
+    @Transactional
+    public Optional<VersaoPedidoDTO> buscarVersao(Long id) {
+        return pedidoRepository.buscarVersao(id);
+    }
     
     // READ - Listar todos os pedidos
+    @Transactional(readOnly = true)
     public List<Pedido> listarTodos() {
         return pedidoRepository.findAll();
     }
-    
+
+    // READ - Listagem paginada por cursor (dataPedido, id), sem carregar entidades
+    @Transactional(readOnly = true)
+    public PaginaPedidos listarPagina(LocalDateTime cursorData, Long cursorId, int tamanho) {
+        // Busca um registro a mais só para saber se existe próxima página
+        Limit limite = Limit.of(tamanho + 1);
+        List<PedidoResumoDTO> pedidos = (cursorData == null || cursorId == null)
+                ? pedidoRepository.listarResumos(limite)
+                : pedidoRepository.listarResumosApos(cursorData, cursorId, limite);
+
+        if (pedidos.size() <= tamanho) {
+            return new PaginaPedidos(pedidos, null, null);
+        }
+
+        pedidos = pedidos.subList(0, tamanho);
+        PedidoResumoDTO ultimo = pedidos.get(tamanho - 1);
+        return new PaginaPedidos(pedidos, ultimo.dataPedido(), ultimo.id());
+    }
+
     // READ - Listar pedidos por status
+    @Transactional(readOnly = true)
     public List<Pedido> listarPorStatus(StatusPedido status) {
         return pedidoRepository.findByStatus(status);
     }
@@ -185,18 +306,34 @@ public void finalizarPedido(Long pedidoId) {
         throw new IllegalStateException("Não é possível finalizar um pedido cancelado");
     }
 
+    // Finalizar de novo contaria a mesma venda duas vezes nos relatórios
+    if (pedido.getStatus() == StatusPedido.FINALIZADO) {
+        throw new IllegalStateException("Pedido já finalizado");
+    }
+
     // Verifica se o pedido tem itens
-    if (pedido.getItens().isEmpty()) {
+    if (!itemPedidoRepository.existsByPedidoId(pedidoId)) {
         throw new IllegalStateException("Não é possível finalizar um pedido sem itens");
     }
 
-    // Calcula o total pela última vez antes de finalizar
-    calcularValorTotal(pedido);
+    // O total já é mantido a cada item adicionado/removido
+    // (ver ConsistenciaTotalPedidoService para a conferência em lote)
 
-    // Muda o status para FINALIZADO
+    // Muda o status para FINALIZADO, guardando a região do cliente neste momento: os resumos
+    // por região (e o estorno de um cancelamento) não mudam se o cliente trocar de endereço
     pedido.setStatus(StatusPedido.FINALIZADO);
+    pedido.setUf(pedido.getCliente().getUf());
+    pedido.setCidade(pedido.getCliente().getCidade());
+
+    // Grava já: os resumos são calculados por SQL a partir da linha do pedido
+    pedidoRepository.saveAndFlush(pedido);
+
+    // Soma a venda nos resumos diários dos relatórios
+    relatorioVendasService.registrarFinalizacao(pedidoId);
 
-    pedidoRepository.save(pedido);
+    // Efeitos fora do banco (faturamento, notificações...) saem pelo outbox, depois do commit
+    eventoPedidoService.registrar(pedidoId, TipoEventoPedido.FINALIZADO);
+    pedidoMetricas.pedidoFinalizado();
 }
 
 
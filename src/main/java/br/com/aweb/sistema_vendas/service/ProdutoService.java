@@ -1,32 +1,86 @@
 package br.com.aweb.sistema_vendas.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import br.com.aweb.sistema_vendas.config.CacheConfig;
 import br.com.aweb.sistema_vendas.model.Produto;
 import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
-import jakarta.transaction.Transactional;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService.Catalogo;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("vendas.servico")
 public class ProdutoService {
 
     @Autowired
     ProdutoRepository produtoRepository;
 
+    @Autowired
+    BuscaProdutoService buscaProdutoService;
+
+    @Autowired
+    VersaoCatalogoService versaoCatalogoService;
+
+    @Autowired
+    CacheManager cacheManager;
+
     // CREATE
     @Transactional
     public Produto salvar(Produto produto) {
-        return produtoRepository.save(produto);
+        Produto produtoSalvo = produtoRepository.save(produto);
+        versaoCatalogoService.alterado(Catalogo.PRODUTOS);
+        aposCommit(() -> {
+            invalidarCache(produtoSalvo.getId(), true);
+            buscaProdutoService.indexar(produtoSalvo);
+        });
+        return produtoSalvo;
     }
 
-    // READ
+    // READ - Catálogo montado do cache de aplicação: a lista de ids numa entrada e cada produto
+    // na sua, de modo que uma reserva de estoque invalida só os produtos reservados.
+    // No primário: o que for lido fica no cache, e uma réplica atrasada logo depois de uma
+    // invalidação deixaria no cache o estado antigo
+    @Transactional
     public List<Produto> listarTodos() {
-        return produtoRepository.findAll();
+        Cache produtos = cacheManager.getCache(CacheConfig.PRODUTOS);
+        List<Long> ids = cacheManager.getCache(CacheConfig.CATALOGO_PRODUTOS)
+                .get(SimpleKey.EMPTY, produtoRepository::listarIds);
+
+        Map<Long, Produto> encontrados = new HashMap<>();
+        List<Long> ausentes = new ArrayList<>();
+        for (Long id : ids) {
+            Produto produto = produtos.get(id, Produto.class);
+            if (produto != null) {
+                encontrados.put(id, produto);
+            } else {
+                ausentes.add(id);
+            }
+        }
+        if (!ausentes.isEmpty()) {
+            for (Produto produto : produtoRepository.findAllById(ausentes)) {
+                produtos.put(produto.getId(), produto);
+                encontrados.put(produto.getId(), produto);
+            }
+        }
+        // Excluído depois que a lista de ids foi para o cache: fica de fora até ela ser invalidada
+        return ids.stream().map(encontrados::get).filter(Objects::nonNull).toList();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Produto> buscarPorId(Long id) {
         return produtoRepository.findById(id);
     }
@@ -46,6 +100,11 @@ public class ProdutoService {
         produtoExistente.setQuantidadeEmEstoque(produtoAtualizado.getQuantidadeEmEstoque());
 
         var produtoSalvo = produtoRepository.save(produtoExistente);
+        versaoCatalogoService.alterado(Catalogo.PRODUTOS);
+        aposCommit(() -> {
+            invalidarCache(id, false);
+            buscaProdutoService.indexar(produtoSalvo);
+        });
         return produtoSalvo;
 
     }
@@ -58,6 +117,35 @@ public class ProdutoService {
             throw new IllegalArgumentException("Produto não encontrado.");
 
         produtoRepository.deleteById(id);
+        versaoCatalogoService.alterado(Catalogo.PRODUTOS);
+        aposCommit(() -> {
+            invalidarCache(id, true);
+            buscaProdutoService.remover(id);
+        });
+    }
+
+    // A lista de ids só precisa sair quando o catálogo ganha ou perde um produto
+    private void invalidarCache(Long id, boolean listaDeIds) {
+        cacheManager.getCache(CacheConfig.PRODUTOS).evict(id);
+        if (listaDeIds) {
+            cacheManager.getCache(CacheConfig.CATALOGO_PRODUTOS).clear();
+        }
+    }
+
+    // Cache e índice de busca só mudam após o commit, como em ReservaEstoqueService: antes dele
+    // uma leitura concorrente recolocaria no cache o estado anterior, e num rollback o índice
+    // passaria a mostrar um produto que não foi gravado
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
     }
 
 }
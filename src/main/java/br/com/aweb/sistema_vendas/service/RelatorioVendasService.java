@@ -0,0 +1,189 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.aweb.sistema_vendas.dto.RelatorioVendasDTO;
+import br.com.aweb.sistema_vendas.repository.ResumoVendaProdutoDiaRepository;
+import br.com.aweb.sistema_vendas.repository.ResumoVendaRegiaoDiaRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+// Relatórios de vendas a partir de resumos diários (por produto e por UF/cidade do cliente,
+// na cópia gravada no pedido ao finalizá-lo).
+// Só pedidos FINALIZADOS contam como venda, no dia do pedido. Os resumos são ajustados
+// na mesma transação em que o PedidoService finaliza ou cancela um pedido finalizado,
+// e podem ser reconstruídos do zero pela rotina em lote, mesmo com pedidos sendo finalizados.
+// As telas leem apenas os resumos.
+@Service
+@Timed("vendas.servico")
+@RequiredArgsConstructor
+public class RelatorioVendasService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioVendasService.class);
+
+    private static final int LIMITE_RANKING = 50;
+
+    // Contribuição de um pedido, já agrupada pela chave de cada resumo
+    private static final String SQL_ITENS_POR_PRODUTO = """
+            select cast(p.data_pedido as date) as dia, i.produto_id,
+                   sum(i.quantidade * i.preco_unitario) as receita, sum(i.quantidade) as unidades
+            from pedidos p
+            join itens_pedido i on i.pedido_id = p.id
+            where p.id = ?
+            group by cast(p.data_pedido as date), i.produto_id
+            order by i.produto_id
+            """;
+    private static final String SQL_ITENS_POR_REGIAO = """
+            select cast(p.data_pedido as date) as dia, p.uf, p.cidade,
+                   sum(i.quantidade * i.preco_unitario) as receita, sum(i.quantidade) as unidades
+            from pedidos p
+            join itens_pedido i on i.pedido_id = p.id
+            where p.id = ?
+            group by cast(p.data_pedido as date), p.uf, p.cidade
+            """;
+
+    // Garante a linha do resumo e depois soma o delta no próprio UPDATE: seguro com
+    // finalizações concorrentes no mesmo dia/produto, sem ler-e-regravar
+    private static final String SQL_CRIAR_PRODUTO = """
+            insert into resumo_vendas_produto_dia (dia, produto_id, receita, unidades, pedidos)
+            values (?, ?, 0, 0, 0)
+            on conflict do nothing
+            """;
+    private static final String SQL_SOMAR_PRODUTO = """
+            update resumo_vendas_produto_dia
+            set receita = receita + ?, unidades = unidades + ?, pedidos = pedidos + ?
+            where dia = ? and produto_id = ?
+            """;
+    private static final String SQL_CRIAR_REGIAO = """
+            insert into resumo_vendas_regiao_dia (dia, uf, cidade, receita, unidades, pedidos)
+            values (?, ?, ?, 0, 0, 0)
+            on conflict do nothing
+            """;
+    private static final String SQL_SOMAR_REGIAO = """
+            update resumo_vendas_regiao_dia
+            set receita = receita + ?, unidades = unidades + ?, pedidos = pedidos + ?
+            where dia = ? and uf = ? and cidade = ?
+            """;
+
+    private static final String SQL_RECONSTRUIR_PRODUTO = """
+            insert into resumo_vendas_produto_dia (dia, produto_id, receita, unidades, pedidos)
+            select cast(p.data_pedido as date), i.produto_id,
+                   sum(i.quantidade * i.preco_unitario), sum(i.quantidade), count(distinct p.id)
+            from pedidos p
+            join itens_pedido i on i.pedido_id = p.id
+            where p.status = 'FINALIZADO'
+            group by cast(p.data_pedido as date), i.produto_id
+            """;
+    private static final String SQL_RECONSTRUIR_REGIAO = """
+            insert into resumo_vendas_regiao_dia (dia, uf, cidade, receita, unidades, pedidos)
+            select cast(p.data_pedido as date), p.uf, p.cidade,
+                   sum(i.quantidade * i.preco_unitario), sum(i.quantidade), count(distinct p.id)
+            from pedidos p
+            join itens_pedido i on i.pedido_id = p.id
+            where p.status = 'FINALIZADO'
+            group by cast(p.data_pedido as date), p.uf, p.cidade
+            """;
+
+    // EXCLUSIVE conflita com o ROW EXCLUSIVE dos INSERT/UPDATE do aplicar, mas deixa as telas lerem
+    private static final String SQL_TRAVAR_RESUMOS =
+            "lock table resumo_vendas_produto_dia, resumo_vendas_regiao_dia in exclusive mode";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResumoVendaProdutoDiaRepository resumoProdutoRepository;
+    private final ResumoVendaRegiaoDiaRepository resumoRegiaoRepository;
+
+    // Soma o pedido recém-finalizado aos resumos
+    @Transactional
+    public void registrarFinalizacao(Long pedidoId) {
+        aplicar(pedidoId, 1);
+    }
+
+    // Retira dos resumos um pedido finalizado que foi cancelado
+    @Transactional
+    public void registrarCancelamento(Long pedidoId) {
+        aplicar(pedidoId, -1);
+    }
+
+    private void aplicar(Long pedidoId, int sinal) {
+        List<Parcela> porProduto = jdbcTemplate.query(SQL_ITENS_POR_PRODUTO, (rs, linha) -> new Parcela(
+                new Object[] { rs.getDate("dia"), rs.getLong("produto_id") },
+                rs.getBigDecimal("receita"), rs.getLong("unidades")), pedidoId);
+        List<Parcela> porRegiao = jdbcTemplate.query(SQL_ITENS_POR_REGIAO, (rs, linha) -> new Parcela(
+                new Object[] { rs.getDate("dia"), rs.getString("uf"), rs.getString("cidade") },
+                rs.getBigDecimal("receita"), rs.getLong("unidades")), pedidoId);
+
+        somar(SQL_CRIAR_PRODUTO, SQL_SOMAR_PRODUTO, porProduto, sinal);
+        somar(SQL_CRIAR_REGIAO, SQL_SOMAR_REGIAO, porRegiao, sinal);
+    }
+
+    private void somar(String sqlCriar, String sqlSomar, List<Parcela> parcelas, int sinal) {
+        if (parcelas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sqlCriar, parcelas.stream().map(Parcela::chave).toList());
+        jdbcTemplate.batchUpdate(sqlSomar, parcelas.stream().map(p -> p.delta(sinal)).toList());
+    }
+
+    // Valores de um pedido para uma linha de resumo; a chave vai no fim dos parâmetros do UPDATE
+    private record Parcela(Object[] chave, BigDecimal receita, long unidades) {
+
+        Object[] delta(int sinal) {
+            Object[] parametros = new Object[3 + chave.length];
+            parametros[0] = receita.multiply(BigDecimal.valueOf(sinal));
+            parametros[1] = unidades * sinal;
+            parametros[2] = sinal;
+            System.arraycopy(chave, 0, parametros, 3, chave.length);
+            return parametros;
+        }
+    }
+
+    // Refaz os resumos a partir de todos os pedidos finalizados.
+    // Começa travando os dois resumos (mesma ordem do aplicar, sem deadlock): espera as finalizações
+    // e cancelamentos em andamento terminarem, e os que chegarem depois esperam a reconstrução.
+    // Assim cada pedido entra uma vez só, ou pela reconstrução ou pelo próprio ajuste
+    @Transactional
+    public void reconstruir() {
+        if (postgres()) {
+            jdbcTemplate.execute(SQL_TRAVAR_RESUMOS);
+        }
+        jdbcTemplate.update("delete from resumo_vendas_produto_dia");
+        jdbcTemplate.update("delete from resumo_vendas_regiao_dia");
+        int produtos = jdbcTemplate.update(SQL_RECONSTRUIR_PRODUTO);
+        int regioes = jdbcTemplate.update(SQL_RECONSTRUIR_REGIAO);
+        log.info("Resumos de vendas reconstruídos: {} linha(s) por produto, {} por região", produtos, regioes);
+    }
+
+    // O H2 dos testes não tem LOCK TABLE
+    private boolean postgres() {
+        String banco = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> conexao.getMetaData().getDatabaseProductName());
+        return DatabaseDriver.fromProductName(banco) == DatabaseDriver.POSTGRESQL;
+    }
+
+    // Rotina em lote: desligada por padrão ("-"); ex.: vendas.relatorios.reconstrucao.cron=0 30 3 * * *
+    @Scheduled(cron = "${vendas.relatorios.reconstrucao.cron:-}")
+    @Transactional
+    public void executarReconstrucao() {
+        reconstruir();
+    }
+
+    // READ - Relatório do período (datas inclusivas); somente leitura, vai para a réplica se houver
+    @Transactional(readOnly = true)
+    public RelatorioVendasDTO gerar(LocalDate inicio, LocalDate fim) {
+        return new RelatorioVendasDTO(inicio, fim,
+                resumoRegiaoRepository.somarPorDia(inicio, fim),
+                resumoProdutoRepository.somarPorProduto(inicio, fim, Limit.of(LIMITE_RANKING)),
+                resumoRegiaoRepository.somarPorRegiao(inicio, fim, Limit.of(LIMITE_RANKING)));
+    }
+}
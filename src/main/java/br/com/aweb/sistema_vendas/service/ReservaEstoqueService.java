@@ -0,0 +1,149 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.aweb.sistema_vendas.config.CacheConfig;
+import br.com.aweb.sistema_vendas.dto.QuantidadeProdutoDTO;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+import br.com.aweb.sistema_vendas.service.VersaoCatalogoService.Catalogo;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+// Ponto único de alteração do estoque pelos pedidos.
+// A verificação e a baixa acontecem no mesmo UPDATE condicional: o banco serializa
+// as escritas na linha do produto, então vendas concorrentes nunca vendem além do saldo.
+// Como os UPDATEs não passam pelo Hibernate, os caches dos produtos afetados são
+// invalidados aqui (na hora e de novo após o commit).
+@Service
+@RequiredArgsConstructor
+public class ReservaEstoqueService {
+
+    private static final String SQL_DEBITAR =
+            "update produtos set quantidade_em_estoque = quantidade_em_estoque - ? where id = ? and quantidade_em_estoque >= ?";
+    private static final String SQL_CREDITAR =
+            "update produtos set quantidade_em_estoque = quantidade_em_estoque + ? where id = ?";
+
+    private final ProdutoRepository produtoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final BuscaProdutoService buscaProdutoService;
+    private final VersaoCatalogoService versaoCatalogoService;
+
+    // Reserva a quantidade do produto; lança exceção se não houver saldo
+    @Transactional
+    public void reservar(Long produtoId, int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+        }
+
+        if (jdbcTemplate.update(SQL_DEBITAR, quantidade, produtoId, quantidade) == 0) {
+            // Nenhuma linha alterada: produto inexistente ou saldo insuficiente
+            var produto = produtoRepository.findById(produtoId)
+                    .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado"));
+            throw new IllegalStateException("Quantidade insuficiente para o produto: " + produto.getNome());
+        }
+        aplicarNosCaches(Map.of(produtoId, -quantidade));
+    }
+
+    // Reserva várias quantidades de uma vez (um único lote JDBC, um UPDATE por produto),
+    // em ordem de id como em devolverEmLote. Se algum produto não tiver saldo lança exceção
+    // e a transação de quem chamou desfaz também as baixas dos outros produtos.
+    @Transactional
+    public void reservarEmLote(Map<Long, Integer> quantidades) {
+        List<Map.Entry<Long, Integer>> ordenadas = quantidades.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+
+        if (ordenadas.isEmpty()) {
+            return;
+        }
+
+        int[] alteradas = jdbcTemplate.batchUpdate(SQL_DEBITAR, ordenadas.stream()
+                .map(q -> new Object[] { q.getValue(), q.getKey(), q.getValue() })
+                .toList());
+
+        List<String> semSaldo = new ArrayList<>();
+        for (int i = 0; i < alteradas.length; i++) {
+            if (alteradas[i] == 0) {
+                Long produtoId = ordenadas.get(i).getKey();
+                semSaldo.add(produtoRepository.findById(produtoId)
+                        .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + produtoId))
+                        .getNome());
+            }
+        }
+        if (!semSaldo.isEmpty()) {
+            throw new IllegalStateException("Quantidade insuficiente para o(s) produto(s): " + String.join(", ", semSaldo));
+        }
+        aplicarNosCaches(ordenadas.stream().collect(Collectors.toMap(Map.Entry::getKey, q -> -q.getValue())));
+    }
+
+    // Devolve a quantidade ao estoque do produto
+    @Transactional
+    public void devolver(Long produtoId, int quantidade) {
+        if (jdbcTemplate.update(SQL_CREDITAR, quantidade, produtoId) == 0) {
+            throw new IllegalArgumentException("Produto não encontrado");
+        }
+        aplicarNosCaches(Map.of(produtoId, quantidade));
+    }
+
+    // Devolve várias quantidades de uma vez: um único lote JDBC, um UPDATE por produto.
+    // Ordena por id para que transações concorrentes travem as linhas na mesma ordem.
+    @Transactional
+    public void devolverEmLote(List<QuantidadeProdutoDTO> quantidades) {
+        List<QuantidadeProdutoDTO> ordenadas = quantidades.stream()
+                .sorted((a, b) -> a.produtoId().compareTo(b.produtoId()))
+                .toList();
+
+        if (ordenadas.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(SQL_CREDITAR, ordenadas.stream()
+                .map(q -> new Object[] { q.quantidade(), q.produtoId() })
+                .toList());
+        aplicarNosCaches(ordenadas.stream().collect(Collectors.toMap(
+                QuantidadeProdutoDTO::produtoId, q -> q.quantidade().intValue())));
+    }
+
+    // Invalida os caches dos produtos alterados e ajusta o saldo no índice de busca
+    private void aplicarNosCaches(Map<Long, Integer> deltas) {
+        Runnable invalidarSegundoNivel = () -> deltas.keySet()
+                .forEach(id -> entityManagerFactory.getCache().evict(Produto.class, id));
+        Runnable aplicar = () -> {
+            Cache produtos = cacheManager.getCache(CacheConfig.PRODUTOS);
+            deltas.keySet().forEach(produtos::evict);
+            deltas.forEach(buscaProdutoService::ajustarEstoque);
+        };
+
+        // Já: o restante desta transação não pode ler do segundo nível o saldo anterior ao UPDATE
+        invalidarSegundoNivel.run();
+        versaoCatalogoService.alterado(Catalogo.ESTOQUE);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar.run();
+            return;
+        }
+        // Após o commit: evita que uma leitura concorrente recoloque no cache o saldo
+        // anterior, e só reflete no índice de busca o que de fato foi gravado. Só os produtos
+        // alterados saem do cache de aplicação; a lista do catálogo não muda
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidarSegundoNivel.run();
+                aplicar.run();
+            }
+        });
+    }
+}
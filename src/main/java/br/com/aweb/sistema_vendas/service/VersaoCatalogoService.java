@@ -0,0 +1,72 @@
+package br.com.aweb.sistema_vendas.service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Versões dos cadastros exibidos nas telas, usadas para compor ETag/Last-Modified.
+// Quem altera produtos, estoque ou clientes chama alterado(): o contador sobe na hora e de novo
+// após o commit, porque uma leitura entre os dois momentos ainda pode ter visto o estado anterior.
+// Ficam em memória, como os demais caches da aplicação (uma instância); o instante de início
+// entra na ETag, então reiniciar a aplicação invalida as ETags já emitidas.
+@Service
+public class VersaoCatalogoService {
+
+    public enum Catalogo {
+        // Cadastro de produtos (nome, descrição, preço...)
+        PRODUTOS,
+        // Saldos alterados pelas vendas (ReservaEstoqueService)
+        ESTOQUE,
+        CLIENTES
+    }
+
+    public record Versao(long numero, long alteradoEm) {
+    }
+
+    private final long inicio = System.currentTimeMillis();
+    private final Map<Catalogo, AtomicReference<Versao>> versoes = new EnumMap<>(Catalogo.class);
+
+    public VersaoCatalogoService() {
+        for (Catalogo catalogo : Catalogo.values()) {
+            versoes.put(catalogo, new AtomicReference<>(new Versao(0, inicio)));
+        }
+    }
+
+    public void alterado(Catalogo catalogo) {
+        incrementar(catalogo);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementar(catalogo);
+                }
+            });
+        }
+    }
+
+    private void incrementar(Catalogo catalogo) {
+        versoes.get(catalogo).updateAndGet(v -> new Versao(v.numero() + 1, System.currentTimeMillis()));
+    }
+
+    public Versao atual(Catalogo catalogo) {
+        return versoes.get(catalogo).get();
+    }
+
+    // Parte da ETag que muda sempre que qualquer um dos catálogos muda
+    public String etag(Catalogo... catalogos) {
+        return Long.toString(inicio, 36) + "-" + Arrays.stream(catalogos)
+                .map(c -> Long.toString(atual(c).numero()))
+                .collect(Collectors.joining("."));
+    }
+
+    // Instante (epoch ms) da alteração mais recente entre os catálogos
+    public long ultimaAlteracao(Catalogo... catalogos) {
+        return Arrays.stream(catalogos).mapToLong(c -> atual(c).alteradoEm()).max().orElse(inicio);
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.aweb.sistema_vendas.view;
+
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.aweb.sistema_vendas.dto.PedidoResumoDTO;
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Linhas da listagem de pedidos já renderizadas em HTML.
+// Data e valor são formatados uma vez por página, em Java, e o fragmento pedido/linha só lê
+// propriedades prontas (expressões que o compilador do SpEL transforma em bytecode).
+// Pedidos FINALIZADOS e CANCELADOS não mudam mais: o HTML deles fica em cache por id+version.
+// Esse HTML serve a qualquer usuário, então é renderizado sem o encodeURL da resposta: com a
+// sessão rastreada pela URL, os links levariam o ;jsessionid de quem montou a linha primeiro.
+@Component
+public class LinhasPedidoRenderer {
+
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final ITemplateEngine templateEngine;
+    private final Cache<String, LinhaEmCache> cache;
+
+    public LinhasPedidoRenderer(ITemplateEngine templateEngine, MeterRegistry meterRegistry,
+            @Value("${vendas.pedidos.listagem.cache-linhas:20000}") long maximoLinhas) {
+        this.templateEngine = templateEngine;
+        this.cache = Caffeine.newBuilder().maximumSize(maximoLinhas).recordStats().build();
+        // Mesmas tags dos caches do Spring (cache.manager, name): o Prometheus recusa um nome de
+        // métrica registrado com conjuntos de tags diferentes
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "pedido-linhas",
+                Tags.of("cache.manager", "linhasPedidoRenderer", "name", "pedido-linhas"));
+    }
+
+    public List<String> renderizar(List<PedidoResumoDTO> pedidos, HttpServletRequest request,
+            HttpServletResponse response) {
+        Locale locale = RequestContextUtils.getLocale(request);
+        NumberFormat moeda = NumberFormat.getCurrencyInstance(locale);
+        JakartaServletWebApplication aplicacao = JakartaServletWebApplication.buildApplication(request.getServletContext());
+        WebContext contexto = new WebContext(aplicacao.buildExchange(request, response), locale);
+        WebContext contextoCompartilhado = new WebContext(
+                aplicacao.buildExchange(request, new SemCodificarUrl(response)), locale);
+
+        List<String> linhas = new ArrayList<>(pedidos.size());
+        for (PedidoResumoDTO pedido : pedidos) {
+            if (pedido.status() == StatusPedido.ATIVO || pedido.version() == null) {
+                linhas.add(renderizar(pedido, moeda, contexto));
+                continue;
+            }
+
+            // O nome do cliente vem de outra tabela e pode mudar sem alterar a version do pedido
+            String chave = pedido.id() + ":" + pedido.version() + ":" + locale;
+            LinhaEmCache emCache = cache.getIfPresent(chave);
+            if (emCache == null || !Objects.equals(emCache.clienteNome(), pedido.clienteNome())) {
+                emCache = new LinhaEmCache(pedido.clienteNome(), renderizar(pedido, moeda, contextoCompartilhado));
+                cache.put(chave, emCache);
+            }
+            linhas.add(emCache.html());
+        }
+        return linhas;
+    }
+
+    private String renderizar(PedidoResumoDTO pedido, NumberFormat moeda, WebContext contexto) {
+        contexto.setVariable("linha", new LinhaPedido(
+                pedido.id(),
+                pedido.clienteNome(),
+                pedido.dataPedido() == null ? "" : DATA_HORA.format(pedido.dataPedido()),
+                pedido.valorTotal() == null ? "" : moeda.format(pedido.valorTotal()),
+                pedido.status().name(),
+                switch (pedido.status()) {
+                    case ATIVO -> "badge bg-success";
+                    case FINALIZADO -> "badge bg-primary";
+                    case CANCELADO -> "badge bg-danger";
+                },
+                pedido.status() == StatusPedido.ATIVO));
+        return templateEngine.process("pedido/linha", Set.of("linha"), contexto);
+    }
+
+    // Valores já formatados que o fragmento exibe
+    public record LinhaPedido(Long id, String clienteNome, String data, String valor, String status,
+            String classeStatus, boolean editavel) {
+    }
+
+    private record LinhaEmCache(String clienteNome, String html) {
+    }
+
+    // Links só com o caminho da aplicação, sem nada da sessão de quem fez a requisição
+    private static class SemCodificarUrl extends HttpServletResponseWrapper {
+
+        SemCodificarUrl(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- Bancos já existentes são registrados na versão 0 (baseline) e passam por este script
+-- sem alteração, por isso tudo é "if not exists".
+
+create table if not exists clientes (
+    id bigint generated by default as identity primary key,
+    nome varchar(255) not null,
+    email varchar(255) not null,
+    cpf varchar(11) not null,
+    telefone varchar(255) not null,
+    logradouro varchar(255) not null,
+    numero varchar(255),
+    complemento varchar(255),
+    bairro varchar(255) not null,
+    cidade varchar(255) not null,
+    uf varchar(2) not null,
+    cep varchar(255) not null,
+    constraint uk_clientes_email unique (email),
+    constraint uk_clientes_cpf unique (cpf)
+);
+
+create table if not exists produtos (
+    id bigint generated by default as identity primary key,
+    nome varchar(100) not null,
+    descricao varchar(255) not null,
+    preco numeric(38, 2) not null,
+    quantidade_em_estoque integer
+);
+
+create table if not exists pedidos (
+    id bigint generated by default as identity primary key,
+    cliente_id bigint not null references clientes (id),
+    data_pedido timestamp(6) not null,
+    valor_total numeric(10, 2) not null,
+    status varchar(10) not null check (status in ('ATIVO', 'CANCELADO', 'FINALIZADO')),
+    version bigint
+);
+
+create table if not exists itens_pedido (
+    id bigint generated by default as identity primary key,
+    pedido_id bigint not null references pedidos (id),
+    produto_id bigint not null references produtos (id),
+    quantidade integer not null,
+    preco_unitario numeric(10, 2) not null
+);
+
+create table if not exists resumo_vendas_produto_dia (
+    dia date not null,
+    produto_id bigint not null,
+    receita numeric(14, 2) not null,
+    unidades bigint not null,
+    pedidos bigint not null,
+    primary key (dia, produto_id)
+);
+
+create table if not exists resumo_vendas_regiao_dia (
+    dia date not null,
+    uf varchar(2) not null,
+    cidade varchar(255) not null,
+    receita numeric(14, 2) not null,
+    unidades bigint not null,
+    pedidos bigint not null,
+    primary key (dia, uf, cidade)
+);
@@ -0,0 +1,16 @@
+-- Índices das consultas dos repositórios e serviços (além das PKs e das unique de clientes)
+
+-- Pedidos de um cliente e a FK (exclusão de cliente não varre pedidos)
+create index if not exists idx_pedidos_cliente on pedidos (cliente_id);
+
+-- Listagem paginada por cursor (data_pedido, id) e filtro de período da exportação
+create index if not exists idx_pedidos_data on pedidos (data_pedido desc, id desc);
+
+-- Pedidos em aberto: poucos em relação ao histórico, então o índice parcial é pequeno e
+-- atende findByStatus(ATIVO). CANCELADO/FINALIZADO são a maior parte da tabela e seguem
+-- por varredura sequencial, que é o plano certo para eles
+create index if not exists idx_pedidos_ativos on pedidos (data_pedido) where status = 'ATIVO';
+
+-- Itens do pedido (carga do pedido, somas de estoque, resumos) e a FK de produtos
+create index if not exists idx_itens_pedido_pedido on itens_pedido (pedido_id);
+create index if not exists idx_itens_pedido_produto on itens_pedido (produto_id);
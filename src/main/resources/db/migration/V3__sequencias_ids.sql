@@ -0,0 +1,28 @@
+-- Ids passam de identity para sequências: o Hibernate reserva 50 ids por nextval (pooled-lo)
+-- e pode agrupar os INSERTs em lotes JDBC. Cada sequência começa depois do maior id existente.
+-- O default da coluna continua gerando ids para INSERTs fora do Hibernate; com pooled-lo o valor
+-- devolvido pelo nextval é o início de um bloco de 50, então os dois caminhos nunca se sobrepõem.
+
+create sequence if not exists clientes_seq increment by 50;
+select setval('clientes_seq', coalesce((select max(id) from clientes), 0) + 1, false);
+alter table clientes alter column id drop identity if exists;
+alter table clientes alter column id set default nextval('clientes_seq');
+alter sequence clientes_seq owned by clientes.id;
+
+create sequence if not exists produtos_seq increment by 50;
+select setval('produtos_seq', coalesce((select max(id) from produtos), 0) + 1, false);
+alter table produtos alter column id drop identity if exists;
+alter table produtos alter column id set default nextval('produtos_seq');
+alter sequence produtos_seq owned by produtos.id;
+
+create sequence if not exists pedidos_seq increment by 50;
+select setval('pedidos_seq', coalesce((select max(id) from pedidos), 0) + 1, false);
+alter table pedidos alter column id drop identity if exists;
+alter table pedidos alter column id set default nextval('pedidos_seq');
+alter sequence pedidos_seq owned by pedidos.id;
+
+create sequence if not exists itens_pedido_seq increment by 50;
+select setval('itens_pedido_seq', coalesce((select max(id) from itens_pedido), 0) + 1, false);
+alter table itens_pedido alter column id drop identity if exists;
+alter table itens_pedido alter column id set default nextval('itens_pedido_seq');
+alter sequence itens_pedido_seq owned by itens_pedido.id;
@@ -0,0 +1,19 @@
+-- Outbox de eventos dos pedidos (EventoPedido / DespachoEventosPedidoService)
+
+create sequence if not exists eventos_pedido_seq increment by 50;
+
+create table if not exists eventos_pedido (
+    id bigint primary key default nextval('eventos_pedido_seq'),
+    pedido_id bigint not null,
+    tipo varchar(20) not null check (tipo in ('FINALIZADO', 'CANCELADO')),
+    status varchar(10) not null check (status in ('PENDENTE', 'PROCESSADO', 'FALHOU')),
+    criado_em timestamp(6) not null,
+    proxima_tentativa timestamp(6) not null,
+    tentativas integer not null,
+    processado_em timestamp(6),
+    erro varchar(1000)
+);
+
+-- Busca do despacho: só os pendentes, na ordem em que vencem
+create index if not exists idx_eventos_pedido_pendentes on eventos_pedido (proxima_tentativa, id)
+    where status = 'PENDENTE';
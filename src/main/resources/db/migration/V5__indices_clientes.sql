@@ -0,0 +1,15 @@
+-- Índices da listagem de clientes (ClienteRepository.listarResumos)
+
+-- Ordem da listagem e cursor (nome, id): a página sem filtro lê só as linhas exibidas
+create index if not exists idx_clientes_nome on clientes (nome, id);
+
+-- Busca por nome: trigramas atendem o LIKE por prefixo em lower(nome) sem depender da
+-- collation do banco (e também buscas por trecho do nome, se a tela passar a oferecer)
+create extension if not exists pg_trgm;
+create index if not exists idx_clientes_nome_trgm on clientes using gin (lower(nome) gin_trgm_ops);
+
+-- E-mail por prefixo, sem diferenciar maiúsculas (CPF já é coberto por uk_clientes_cpf)
+create index if not exists idx_clientes_email_lower on clientes (lower(email) text_pattern_ops);
+
+-- Início do nome da cidade, com ou sem UF. Só a UF seleciona pouco: segue pelo índice do nome
+create index if not exists idx_clientes_cidade_uf on clientes (lower(cidade) text_pattern_ops, uf);
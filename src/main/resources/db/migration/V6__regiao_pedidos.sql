@@ -0,0 +1,12 @@
+-- Região do cliente congelada no pedido ao finalizar (PedidoService.finalizarPedido).
+-- Os resumos por região (RelatorioVendasService) leem daqui: um cliente que muda de
+-- endereço não desloca vendas já contabilizadas, nem o estorno de um cancelamento.
+alter table pedidos add column if not exists uf varchar(2);
+alter table pedidos add column if not exists cidade varchar(255);
+
+-- Pedidos finalizados antes desta versão: o endereço atual do cliente, que é o que os
+-- resumos já usavam
+update pedidos p
+set uf = c.uf, cidade = c.cidade
+from clientes c
+where c.id = p.cliente_id and p.status = 'FINALIZADO' and p.uf is null;
@@ -0,0 +1,31 @@
+-- Bancos criados pelo ddl-auto=update (registrados na versão 0) têm as constraints únicas de
+-- clientes com nomes gerados pelo Hibernate (uk...): o V1 não recria a tabela existente.
+-- O ClienteService reconhece e-mail e CPF duplicados pelo nome da constraint, então cada uma
+-- passa a se chamar uk_clientes_<coluna>; se não houver constraint única na coluna, é criada.
+do $$
+declare
+    coluna text;
+    esperado text;
+    atual text;
+begin
+    foreach coluna in array array['email', 'cpf'] loop
+        esperado := 'uk_clientes_' || coluna;
+
+        select con.conname into atual
+        from pg_constraint con
+        join pg_attribute att on att.attrelid = con.conrelid and att.attnum = con.conkey[1]
+        where con.conrelid = 'clientes'::regclass
+          and con.contype = 'u'
+          and cardinality(con.conkey) = 1
+          and att.attname = coluna
+        order by con.conname = esperado desc
+        limit 1;
+
+        if atual is null then
+            execute format('alter table clientes add constraint %I unique (%I)', esperado, coluna);
+        elsif atual <> esperado then
+            execute format('alter table clientes rename constraint %I to %I', atual, esperado);
+        end if;
+    end loop;
+end
+$$;
@@ -0,0 +1,4 @@
+-- Despacho em ordem por pedido: o DespachoEventosPedidoService pula o evento que ainda tem
+-- outro pendente, mais antigo, do mesmo pedido (not exists correlacionado por pedido_id e id)
+create index if not exists idx_eventos_pedido_pendentes_pedido on eventos_pedido (pedido_id, id)
+    where status = 'PENDENTE';
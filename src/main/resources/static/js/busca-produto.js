@@ -0,0 +1,75 @@
+// Autocompletar de produtos da tela de edição do pedido.
+// Consulta /produtos/buscar conforme o usuário digita e preenche o produtoId escolhido.
+// Linhas incluídas depois (cesta do pedido) são ativadas com window.ativarBuscaProduto.
+function ativarBuscaProduto(campo) {
+    var url = campo.dataset.url;
+    var texto = campo.querySelector('[data-busca-texto]');
+    var produtoId = campo.querySelector('[data-busca-id]');
+    var resultados = campo.querySelector('[data-busca-resultados]');
+    var formulario = campo.closest('form');
+    var espera = null;
+    var ultimaConsulta = '';
+
+    var preco = new Intl.NumberFormat('pt-BR', { style: 'currency', currency: 'BRL' });
+
+    function limpar() {
+        resultados.innerHTML = '';
+    }
+
+    function mostrar(produtos) {
+        limpar();
+        produtos.forEach(function (produto) {
+            var opcao = document.createElement('button');
+            opcao.type = 'button';
+            opcao.className = 'list-group-item list-group-item-action';
+            opcao.textContent = produto.nome + ' - Estoque: ' + produto.quantidadeEmEstoque
+                + ' - ' + preco.format(produto.preco);
+            opcao.addEventListener('click', function () {
+                produtoId.value = produto.id;
+                texto.value = produto.nome;
+                texto.setCustomValidity('');
+                limpar();
+            });
+            resultados.appendChild(opcao);
+        });
+    }
+
+    function buscar() {
+        var consulta = texto.value.trim();
+        if (consulta.length < 2) {
+            limpar();
+            return;
+        }
+        ultimaConsulta = consulta;
+        fetch(url + '?q=' + encodeURIComponent(consulta), { headers: { 'Accept': 'application/json' } })
+            .then(function (resposta) { return resposta.ok ? resposta.json() : []; })
+            .then(function (produtos) {
+                // Ignora respostas de consultas que já foram substituídas
+                if (consulta === ultimaConsulta) {
+                    mostrar(produtos);
+                }
+            });
+    }
+
+    texto.addEventListener('input', function () {
+        produtoId.value = '';
+        texto.setCustomValidity('');
+        clearTimeout(espera);
+        espera = setTimeout(buscar, 150);
+    });
+
+    formulario.addEventListener('submit', function (evento) {
+        // Linha já removida da cesta
+        if (!campo.isConnected) {
+            return;
+        }
+        if (!produtoId.value) {
+            texto.setCustomValidity('Selecione um produto da lista');
+            texto.reportValidity();
+            evento.preventDefault();
+        }
+    });
+}
+
+window.ativarBuscaProduto = ativarBuscaProduto;
+document.querySelectorAll('[data-busca-produto]').forEach(ativarBuscaProduto);
@@ -0,0 +1,32 @@
+// Cesta da tela de edição do pedido: inclui e remove linhas de produto/quantidade,
+// enviadas juntas para /pedidos/{id}/adicionar-itens.
+document.querySelectorAll('[data-cesta-linhas]').forEach(function (linhas) {
+    var formulario = linhas.closest('form');
+    var modelo = linhas.querySelector('[data-cesta-linha]').cloneNode(true);
+
+    function remover(linha) {
+        // Sempre sobra ao menos uma linha
+        if (linhas.querySelectorAll('[data-cesta-linha]').length > 1) {
+            linha.remove();
+        }
+    }
+
+    function preparar(linha) {
+        linha.querySelector('[data-cesta-remover]').addEventListener('click', function () {
+            remover(linha);
+        });
+    }
+
+    linhas.querySelectorAll('[data-cesta-linha]').forEach(preparar);
+
+    formulario.querySelector('[data-cesta-incluir]').addEventListener('click', function () {
+        var linha = modelo.cloneNode(true);
+        linha.querySelectorAll('input').forEach(function (campo) {
+            campo.value = '';
+        });
+        linhas.appendChild(linha);
+        preparar(linha);
+        window.ativarBuscaProduto(linha.querySelector('[data-busca-produto]'));
+        linha.querySelector('[data-busca-texto]').focus();
+    });
+});
@@ -0,0 +1,102 @@
+package br.com.aweb.sistema_vendas.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+
+import jakarta.servlet.Filter;
+
+// Com a cadeia de filtros do Spring Security: API por token, telas por sessão
+@SpringBootTest
+class ApiControllerTest {
+
+    @Autowired
+    private WebApplicationContext contexto;
+
+    @Autowired
+    private Filter springSecurityFilterChain;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void preparar() {
+        mvc = MockMvcBuilders.webAppContextSetup(contexto).addFilters(springSecurityFilterChain).build();
+    }
+
+    @Test
+    void apiExigeTokenEmitidoPeloLogin() throws Exception {
+        mvc.perform(get("/api/pedidos")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/pedidos").header(HttpHeaders.AUTHORIZATION, "Bearer invalido"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/token").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usuario\":\"aluno\",\"senha\":\"errada\"}"))
+                .andExpect(status().isUnauthorized());
+
+        MvcResult login = mvc.perform(post("/api/token").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usuario\":\"aluno\",\"senha\":\"123\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String token = JsonPath.read(login.getResponse().getContentAsString(), "$.token");
+
+        MvcResult pedidos = mvc.perform(get("/api/pedidos").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidos").isArray())
+                .andReturn();
+        // Sem sessão: nada fica guardado entre as requisições da API
+        assertNull(pedidos.getRequest().getSession(false));
+    }
+
+    @Test
+    void actuatorSoDeixaOHealthPublico() throws Exception {
+        mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        // Nos testes o Spring Boot não publica o Prometheus; /actuator/metrics segue a mesma regra
+        mvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("aluno", "123")))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, basic("professor", "12345")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void telasContinuamNoLoginPorFormulario() throws Exception {
+        mvc.perform(get("/pedidos")).andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+        // O token da API não abre as telas
+        mvc.perform(get("/pedidos").header(HttpHeaders.AUTHORIZATION, "Bearer qualquer"))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    @Test
+    void arquivosEstaticosNaoPassamPelaSeguranca() throws Exception {
+        // Sem os cabeçalhos da cadeia (ex.: Cache-Control: no-store), o navegador pode guardar o arquivo
+        mvc.perform(get("/css/style.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Frame-Options"))
+                .andExpect(header().doesNotExist(HttpHeaders.PRAGMA));
+    }
+
+    private static String basic(String usuario, String senha) {
+        return "Basic " + Base64.getEncoder().encodeToString((usuario + ":" + senha).getBytes(StandardCharsets.UTF_8));
+    }
+}
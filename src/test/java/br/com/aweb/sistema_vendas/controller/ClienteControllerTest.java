@@ -0,0 +1,83 @@
+package br.com.aweb.sistema_vendas.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+
+// Sem os filtros do Spring Security: aqui interessa o formulário devolvido quando o cadastro falha
+@SpringBootTest
+class ClienteControllerTest {
+
+    @Autowired
+    private WebApplicationContext contexto;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void preparar() {
+        mvc = MockMvcBuilders.webAppContextSetup(contexto).build();
+    }
+
+    @Test
+    void cpfRepetidoDevolveCadastroNovoQueAceitaReenvioCorrigido() throws Exception {
+        mvc.perform(formulario("/clientes/novo", "original@form.com", "54323194897"))
+                .andExpect(redirectedUrl("/clientes"));
+
+        // O INSERT falhou depois de o id vir da sequência: o formulário segue apontando para /novo
+        mvc.perform(formulario("/clientes/novo", "repetido@form.com", "54323194897"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("cliente/form"))
+                .andExpect(model().attributeHasFieldErrorCode("cliente", "cpf", "error.cliente"))
+                .andExpect(model().attribute("cliente", hasProperty("id", nullValue())))
+                .andExpect(content().string(containsString("action=\"/clientes/novo\"")));
+
+        mvc.perform(formulario("/clientes/novo", "repetido@form.com", "75749118606"))
+                .andExpect(redirectedUrl("/clientes"));
+        assertEquals(1, clienteRepository.findAll().stream()
+                .filter(c -> c.getEmail().equals("repetido@form.com") && c.getCpf().equals("75749118606"))
+                .count());
+    }
+
+    @Test
+    void erroSemCampoApareceNoFormulario() throws Exception {
+        mvc.perform(formulario("/clientes/edit/987654321", "sumido@form.com", "25276018987"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("cliente/form"))
+                .andExpect(model().attributeHasErrors("cliente"))
+                .andExpect(content().string(containsString("Cliente não encontrado.")));
+    }
+
+    private static MockHttpServletRequestBuilder formulario(String url, String email, String cpf) {
+        return post(url)
+                .param("nome", "Cliente Formulário")
+                .param("email", email)
+                .param("cpf", cpf)
+                .param("telefone", "11999999999")
+                .param("logradouro", "Rua F")
+                .param("bairro", "Centro")
+                .param("cidade", "São Paulo")
+                .param("uf", "SP")
+                .param("cep", "01000000");
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.aweb.sistema_vendas.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.service.PedidoService;
+import br.com.aweb.sistema_vendas.service.ProdutoService;
+
+// Sem os filtros do Spring Security: aqui interessa só o tratamento de ETag dos controllers
+@SpringBootTest
+class RequisicaoCondicionalTest {
+
+    @Autowired
+    private WebApplicationContext contexto;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private MockMvc mvc;
+    private final MockHttpSession sessao = new MockHttpSession();
+
+    @BeforeEach
+    void preparar() {
+        mvc = MockMvcBuilders.webAppContextSetup(contexto).build();
+    }
+
+    @Test
+    void detalhesDePedidoRespondem304AteOPedidoMudar() throws Exception {
+        Produto produto = produtoService.salvar(novoProduto());
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente("etag1@teste.com", "16180339805")));
+        pedidoService.adicionarItem(pedido.getId(), produto.getId(), 1);
+        String url = "/pedidos/detalhes/" + pedido.getId();
+
+        String etagAtivo = mvc.perform(get(url).session(sessao))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get(url).session(sessao).header(HttpHeaders.IF_NONE_MATCH, etagAtivo))
+                .andExpect(status().isNotModified());
+
+        pedidoService.finalizarPedido(pedido.getId());
+
+        // Finalizado ainda pode ser cancelado: revalida sempre, mas segue respondendo 304
+        String etagFinalizado = mvc.perform(get(url).session(sessao).header(HttpHeaders.IF_NONE_MATCH, etagAtivo))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get(url).session(sessao).header(HttpHeaders.IF_NONE_MATCH, etagFinalizado))
+                .andExpect(status().isNotModified());
+
+        pedidoService.cancelarPedido(pedido.getId());
+
+        String etagCancelado = mvc.perform(get(url).session(sessao).header(HttpHeaders.IF_NONE_MATCH, etagFinalizado))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get(url).session(sessao).header(HttpHeaders.IF_NONE_MATCH, etagCancelado))
+                .andExpect(status().isNotModified());
+
+        // Outra sessão (novo login) não reaproveita a página com o token CSRF antigo
+        mvc.perform(get(url).session(new MockHttpSession()).header(HttpHeaders.IF_NONE_MATCH, etagCancelado))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listaDeProdutosMudaDeEtagQuandoOEstoqueMuda() throws Exception {
+        Produto produto = produtoService.salvar(novoProduto());
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente("etag2@teste.com", "57721566401")));
+
+        String etag = mvc.perform(get("/produtos").session(sessao))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get("/produtos").session(sessao).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        pedidoService.adicionarItem(pedido.getId(), produto.getId(), 1);
+
+        mvc.perform(get("/produtos").session(sessao).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private Produto novoProduto() {
+        Produto produto = new Produto();
+        produto.setNome("Produto ETag");
+        produto.setDescricao("Produto ETag");
+        produto.setPreco(new BigDecimal("5.00"));
+        produto.setQuantidadeEmEstoque(10);
+        return produto;
+    }
+
+    private Cliente novoCliente(String email, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente ETag");
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua F");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Santos");
+        cliente.setUf("SP");
+        cliente.setCep("11000000");
+        return cliente;
+    }
+}
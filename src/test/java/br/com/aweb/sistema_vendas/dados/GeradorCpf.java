@@ -0,0 +1,35 @@
+package br.com.aweb.sistema_vendas.dados;
+
+// Gera CPFs válidos (com dígitos verificadores corretos) a partir de um número sequencial.
+// Compartilhado pelos benchmarks (src/jmh) e pelo teste de carga (src/carga)
+public final class GeradorCpf {
+
+    private GeradorCpf() {
+    }
+
+    public static String gerar(long sequencial) {
+        int[] digitos = new int[11];
+        long base = Math.floorMod(sequencial, 1_000_000_000L);
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = (int) (base % 10);
+            base /= 10;
+        }
+        digitos[9] = digitoVerificador(digitos, 9);
+        digitos[10] = digitoVerificador(digitos, 10);
+
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digito : digitos) {
+            cpf.append(digito);
+        }
+        return cpf.toString();
+    }
+
+    private static int digitoVerificador(int[] digitos, int tamanho) {
+        int soma = 0;
+        for (int i = 0; i < tamanho; i++) {
+            soma += digitos[i] * (tamanho + 1 - i);
+        }
+        int resto = (soma * 10) % 11;
+        return resto == 10 ? 0 : resto;
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.aweb.sistema_vendas.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.PedidoRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+import br.com.aweb.sistema_vendas.service.PedidoService;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class IdentidadeEntidadesTest {
+
+    private static final int ITENS = 10_000;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void estatisticas() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void hashELogDoPedidoNaoCarregamClienteNemItens() {
+        Pedido pedido = pedidoComItens("identidade1@teste.com", "31622776631");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Pedido carregado = pedidoRepository.findById(pedido.getId()).orElseThrow();
+            long comandos = estatisticas.getPrepareStatementCount();
+
+            Set<Pedido> pedidos = new HashSet<>();
+            pedidos.add(carregado);
+            assertTrue(pedidos.contains(pedido));
+            assertEquals(pedido.hashCode(), carregado.hashCode());
+            assertTrue(carregado.toString().contains("id=" + pedido.getId()));
+
+            assertEquals(comandos, estatisticas.getPrepareStatementCount());
+            assertFalse(Hibernate.isInitialized(carregado.getCliente()));
+            assertFalse(Hibernate.isInitialized(carregado.getItens()));
+        });
+    }
+
+    @Test
+    void hashLogERemocaoNumPedidoCom10MilItensSoComparamIds() {
+        Pedido pedido = pedidoComItens("identidade2@teste.com", "24494897469");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Pedido completo = pedidoRepository.findComItensById(pedido.getId()).orElseThrow();
+            List<ItemPedido> itens = completo.getItens();
+            assertEquals(ITENS, itens.size());
+            ItemPedido ultimo = itens.get(ITENS - 1);
+            long comandos = estatisticas.getPrepareStatementCount();
+
+            assertTimeout(Duration.ofSeconds(2), () -> {
+                assertEquals(ITENS, new HashSet<>(itens).size());
+                itens.forEach(ItemPedido::toString);
+                completo.toString();
+                assertTrue(itens.remove(ultimo));
+            });
+            assertEquals(ITENS - 1, itens.size());
+            assertEquals(comandos, estatisticas.getPrepareStatementCount());
+
+            // Não grava a remoção (orphanRemoval) no banco
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void entidadesNovasSoSaoIguaisASiMesmas() {
+        Pedido novo = new Pedido();
+        assertEquals(novo, novo);
+        assertNotEquals(novo, new Pedido());
+
+        ItemPedido item = new ItemPedido();
+        item.setId(1L);
+        ItemPedido mesmoId = new ItemPedido();
+        mesmoId.setId(1L);
+        mesmoId.setQuantidade(5);
+        assertEquals(item, mesmoId);
+        assertEquals(item.hashCode(), mesmoId.hashCode());
+    }
+
+    // Pedido com ITENS linhas gravadas direto no banco (mesma sequência dos itens)
+    private Pedido pedidoComItens(String email, String cpf) {
+        Produto produto = new Produto();
+        produto.setNome("Produto Identidade");
+        produto.setDescricao("Produto Identidade");
+        produto.setPreco(new BigDecimal("1.00"));
+        produto.setQuantidadeEmEstoque(10);
+        produto = produtoRepository.save(produto);
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Identidade");
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua H");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Jundiaí");
+        cliente.setUf("SP");
+        cliente.setCep("13200000");
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(cliente));
+
+        Long produtoId = produto.getId();
+        jdbcTemplate.batchUpdate("""
+                insert into itens_pedido (id, pedido_id, produto_id, quantidade, preco_unitario)
+                values (nextval('itens_pedido_seq'), ?, ?, 1, 1.00)
+                """, IntStream.range(0, ITENS).mapToObj(i -> new Object[] { pedido.getId(), produtoId }).toList());
+        // Total coerente com os itens: outros testes conferem a consistência de todos os pedidos
+        jdbcTemplate.update("update pedidos set valor_total = ? where id = ?", new BigDecimal(ITENS), pedido.getId());
+        return pedido;
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.aweb.sistema_vendas.replica;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import br.com.aweb.sistema_vendas.repository.PostgresEmbutido;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// A consulta de atraso configurada, num PostgreSQL sem receptor de WAL: é o mesmo que uma réplica
+// com a replicação desconectada (receive = replay, e o atraso calculado só por isso seria zero)
+@DisabledIfSystemProperty(named = "user.name", matches = "root", disabledReason = "o initdb do PostgreSQL não roda como root")
+class ConsultaAtrasoReplicaTest {
+
+    @Test
+    void semReceptorDeWalAReplicaFicaIndisponivel() throws IOException {
+        Properties configuracao = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        String consultaAtraso = configuracao.getProperty("vendas.replica.consulta-atraso");
+        DriverManagerDataSource banco = new DriverManagerDataSource(
+                PostgresEmbutido.novoBanco("atraso_replica"), PostgresEmbutido.USUARIO, "");
+
+        assertNull(new JdbcTemplate(banco).queryForObject(consultaAtraso, Double.class));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MonitorReplica monitor = new MonitorReplica(banco, consultaAtraso, Duration.ofSeconds(1), registry);
+        monitor.verificar();
+        assertFalse(monitor.isDisponivel());
+        assertTrue(Double.isNaN(registry.get("vendas.replica.atraso").gauge().value()));
+    }
+}
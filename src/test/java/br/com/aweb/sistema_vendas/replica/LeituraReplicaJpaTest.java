@@ -0,0 +1,101 @@
+package br.com.aweb.sistema_vendas.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.aweb.sistema_vendas.config.ReplicaConfig;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.service.ClienteService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// A aplicação inteira com a réplica ligada (ReplicaConfig), pelo caminho real das telas:
+// serviço @Transactional(readOnly = true) -> JpaTransactionManager -> Hibernate -> RoteamentoDataSource.
+// Primário e réplica apontam para o mesmo H2; o destino de cada transação é conferido pelas
+// métricas de uso de conexão de cada pool (hikaricp.connections.usage, tag pool)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:leitura_replica_jpa;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "vendas.replica.url=jdbc:h2:mem:leitura_replica_jpa;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "vendas.replica.consulta-atraso=SELECT 0",
+        "vendas.replica.verificacao.cron=-" })
+class LeituraReplicaJpaTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void servicoSomenteLeituraPeloJpaVaiParaAReplica() {
+        assertTrue(transactionManager instanceof JpaTransactionManager);
+
+        double primario = usos("primario");
+        Cliente cliente = clienteService.salvar(novoCliente());
+        assertTrue(usos("primario") > primario, "a gravação vai para o primário");
+
+        double replica = usos("replica");
+        primario = usos("primario");
+        assertEquals(cliente.getNome(), clienteService.buscarPorId(cliente.getId()).get().getNome());
+        assertEquals(replica + 1, usos("replica"));
+        assertEquals(primario, usos("primario"));
+    }
+
+    @Test
+    void poolDoPrimarioEFechadoComAConfiguracao() throws Exception {
+        ReplicaConfig config = new ReplicaConfig(new MockEnvironment(), new SimpleMeterRegistry());
+        DataSourceProperties propriedades = new DataSourceProperties();
+        propriedades.setUrl("jdbc:h2:mem:fechamento_primario;DB_CLOSE_DELAY=-1");
+        propriedades.setUsername("sa");
+        MonitorReplica monitor = config.monitorReplica("jdbc:h2:mem:fechamento_replica;DB_CLOSE_DELAY=-1",
+                "sa", "", "SELECT 0", Duration.ofSeconds(1));
+        DataSource dataSource = config.dataSource(propriedades, monitor);
+        HikariDataSource primario = (HikariDataSource) ((RoteamentoDataSource)
+                ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource()).getResolvedDefaultDataSource();
+        assertFalse(primario.isClosed());
+
+        config.destroy();
+        monitor.close();
+
+        assertTrue(primario.isClosed());
+        assertTrue(((HikariDataSource) monitor.getDataSource()).isClosed());
+    }
+
+    // Conexões devolvidas ao pool até agora
+    private double usos(String pool) {
+        return meterRegistry.get("hikaricp.connections.usage").tag("pool", pool).timer().count();
+    }
+
+    private Cliente novoCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Réplica");
+        cliente.setEmail("replica@teste.com");
+        cliente.setCpf("18609139034");
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua R");
+        cliente.setBairro("Centro");
+        cliente.setCidade("São Paulo");
+        cliente.setUf("SP");
+        cliente.setCep("01000000");
+        return cliente;
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.aweb.sistema_vendas.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Primário e réplica simulados por dois bancos H2 em memória; o "atraso" da réplica é uma linha
+// de tabela, lida pelo monitor no lugar da consulta de replicação do PostgreSQL
+class RoteamentoDataSourceTest {
+
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+    private MonitorReplica monitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void preparar() {
+        DataSource bancoPrimario = h2("roteamento_primario");
+        DataSource bancoReplica = h2("roteamento_replica");
+        primario = new JdbcTemplate(bancoPrimario);
+        replica = new JdbcTemplate(bancoReplica);
+        primario.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20))");
+        primario.execute("MERGE INTO origem KEY (nome) VALUES ('primario')");
+        replica.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20))");
+        replica.execute("MERGE INTO origem KEY (nome) VALUES ('replica')");
+        replica.execute("CREATE TABLE IF NOT EXISTS atraso (segundos DOUBLE)");
+        replica.execute("DELETE FROM atraso");
+        replica.execute("INSERT INTO atraso VALUES (0.2)");
+
+        monitor = new MonitorReplica(bancoReplica, "SELECT segundos FROM atraso", Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new RoteamentoDataSource(bancoPrimario, bancoReplica, monitor));
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transacoes = new DataSourceTransactionManager(dataSource);
+        leitura = new TransactionTemplate(transacoes);
+        leitura.setReadOnly(true);
+        escrita = new TransactionTemplate(transacoes);
+    }
+
+    @Test
+    void somenteLeituraVaiParaAReplicaEmDia() {
+        assertFalse(monitor.isDisponivel(), "sem verificação a réplica não é usada");
+        assertEquals("primario", leitura.execute(status -> origem()));
+
+        monitor.verificar();
+
+        assertTrue(monitor.isDisponivel());
+        assertEquals("replica", leitura.execute(status -> origem()));
+        assertEquals("primario", escrita.execute(status -> origem()));
+        assertEquals("primario", origem());
+        // Leitura dentro de uma transação de escrita participa dela e fica no primário
+        assertEquals("primario", escrita.execute(status -> leitura.execute(interna -> origem())));
+    }
+
+    @Test
+    void replicaAtrasadaOuForaDoArDevolveAsLeiturasAoPrimario() {
+        monitor.verificar();
+        assertEquals("replica", leitura.execute(status -> origem()));
+
+        replica.update("UPDATE atraso SET segundos = 5");
+        monitor.verificar();
+        assertFalse(monitor.isDisponivel());
+        assertEquals("primario", leitura.execute(status -> origem()));
+
+        replica.update("UPDATE atraso SET segundos = 0");
+        monitor.verificar();
+        assertEquals("replica", leitura.execute(status -> origem()));
+
+        // Receptor de WAL desconectado: a consulta devolve NULL em vez de um atraso
+        replica.update("UPDATE atraso SET segundos = NULL");
+        monitor.verificar();
+        assertFalse(monitor.isDisponivel());
+        assertEquals("primario", leitura.execute(status -> origem()));
+
+        replica.update("UPDATE atraso SET segundos = 0");
+        monitor.verificar();
+        assertEquals("replica", leitura.execute(status -> origem()));
+
+        // Consulta falhando, como numa réplica fora do ar
+        replica.execute("DROP TABLE atraso");
+        monitor.verificar();
+        assertFalse(monitor.isDisponivel());
+        assertEquals("primario", leitura.execute(status -> origem()));
+    }
+
+    private String origem() {
+        return jdbc.queryForObject("SELECT nome FROM origem", String.class);
+    }
+
+    private static DataSource h2(String nome) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Grava o SQL e os parâmetros de cada consulta executada pela thread durante gravar(...), do jeito
+// que chegaram ao driver (Hibernate ou JdbcTemplate), para repetir a mesma consulta com EXPLAIN
+class GravadorSqlDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<List<Consulta>> GRAVADAS = new ThreadLocal<>();
+
+    GravadorSqlDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    static List<Consulta> gravar(Runnable acao) {
+        List<Consulta> consultas = new ArrayList<>();
+        GRAVADAS.set(consultas);
+        try {
+            acao.run();
+        } finally {
+            GRAVADAS.remove();
+        }
+        return consultas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexao(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conexao(super.getConnection(username, password));
+    }
+
+    private static Connection conexao(Connection alvo) {
+        return proxy(Connection.class, (proxy, metodo, argumentos) -> {
+            Object resultado = invocar(alvo, metodo, argumentos);
+            if (metodo.getName().equals("prepareStatement") && GRAVADAS.get() != null) {
+                return comando((PreparedStatement) resultado, (String) argumentos[0]);
+            }
+            return resultado;
+        });
+    }
+
+    // setXxx(índice, valor...) ficam guardados e são copiados para a consulta na hora da execução
+    private static PreparedStatement comando(PreparedStatement alvo, String sql) {
+        List<Parametro> parametros = new ArrayList<>();
+        return proxy(PreparedStatement.class, (proxy, metodo, argumentos) -> {
+            String nome = metodo.getName();
+            if (nome.startsWith("set") && argumentos != null && argumentos.length > 1
+                    && argumentos[0] instanceof Integer) {
+                parametros.add(new Parametro(metodo, argumentos.clone()));
+            } else if (nome.equals("clearParameters")) {
+                parametros.clear();
+            } else if ((nome.equals("executeQuery") || nome.equals("execute")) && argumentos == null) {
+                List<Consulta> gravadas = GRAVADAS.get();
+                if (gravadas != null) {
+                    gravadas.add(new Consulta(sql, List.copyOf(parametros)));
+                }
+            }
+            return invocar(alvo, metodo, argumentos);
+        });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static <T> T proxy(Class<T> tipo, InvocationHandler handler) {
+        return tipo.cast(Proxy.newProxyInstance(GravadorSqlDataSource.class.getClassLoader(),
+                new Class<?>[] { tipo }, handler));
+    }
+
+    record Consulta(String sql, List<Parametro> parametros) {
+
+        // Os mesmos parâmetros, nas mesmas posições, em outro comando
+        void aplicar(PreparedStatement comando) throws SQLException {
+            for (Parametro parametro : parametros) {
+                try {
+                    parametro.metodo().invoke(comando, parametro.argumentos());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException(e);
+                }
+            }
+        }
+    }
+
+    record Parametro(Method metodo, Object[] argumentos) {
+    }
+}
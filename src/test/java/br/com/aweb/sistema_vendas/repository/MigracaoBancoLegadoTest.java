@@ -0,0 +1,186 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+import br.com.aweb.sistema_vendas.service.ClienteService;
+
+// Banco criado pelo ddl-auto=update antes do Flyway: o esquema vem do Hibernate, a partir das
+// entidades da primeira versão (legado/esquema-legado.xml), já com um pedido finalizado.
+// A aplicação sobe em cima dele como em produção: baseline na versão 0, migrações e validate
+@SpringBootTest
+@DisabledIfSystemProperty(named = "user.name", matches = "root", disabledReason = "o initdb do PostgreSQL não roda como root")
+class MigracaoBancoLegadoTest {
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        String url = PostgresEmbutido.novoBanco("legado");
+        criarEsquemaLegado(url);
+        PostgresEmbutido.registrar(registry, url);
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Test
+    void migracoesAjustamOEsquemaCriadoPeloHibernate() {
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("0", flyway.info().applied()[0].getVersion().getVersion());
+
+        // Unique geradas pelo Hibernate passam a ter os nomes que o ClienteService reconhece
+        assertEquals(List.of(Cliente.UK_CPF, Cliente.UK_EMAIL), PostgresEmbutido.constraintsUnicas(jdbcTemplate, "clientes"));
+
+        // Pedido finalizado antes da V6 recebe a região do cliente
+        assertEquals(List.of("SP/Campinas"), jdbcTemplate.queryForList(
+                "select uf || '/' || cidade from pedidos where status = 'FINALIZADO'", String.class));
+    }
+
+    @Test
+    void emailECpfRepetidosContinuamComErroDoCampo() {
+        IllegalArgumentException email = assertThrows(IllegalArgumentException.class,
+                () -> clienteService.salvar(novoCliente("legado@teste.com", "62819482112")));
+        assertEquals("E-mail já cadastrado.", email.getMessage());
+
+        IllegalArgumentException cpf = assertThrows(IllegalArgumentException.class,
+                () -> clienteService.salvar(novoCliente("novo.legado@teste.com", "99603082430")));
+        assertEquals("CPF já cadastrado.", cpf.getMessage());
+
+        // Ids novos vêm da sequência criada na V3, depois dos que o identity já tinha gerado
+        Long maiorId = jdbcTemplate.queryForObject("select max(id) from clientes", Long.class);
+        Cliente novo = clienteService.salvar(novoCliente("novo.legado@teste.com", "62819482112"));
+        assertTrue(novo.getId() > maiorId);
+    }
+
+    private static void criarEsquemaLegado(String url) {
+        Configuration configuracao = new Configuration()
+                .addResource("legado/esquema-legado.xml")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, PostgresEmbutido.USUARIO)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "update")
+                // Sem isso o Hibernate escolhe sozinho o JCache do classpath, e fechar esta fábrica
+                // fecharia o CacheManager padrão, compartilhado com os contextos dos outros testes
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+        // Mesmos nomes de tabelas e colunas que o Spring Boot configurava no Hibernate
+        configuracao.setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy());
+        configuracao.setImplicitNamingStrategy(new SpringImplicitNamingStrategy());
+
+        try (SessionFactory fabrica = configuracao.buildSessionFactory()) {
+            fabrica.inTransaction(sessao -> {
+                ClienteLegado cliente = new ClienteLegado();
+                cliente.nome = "Cliente Legado";
+                cliente.email = "legado@teste.com";
+                cliente.cpf = "99603082430";
+                cliente.telefone = "11999999999";
+                cliente.logradouro = "Rua L";
+                cliente.bairro = "Centro";
+                cliente.cidade = "Campinas";
+                cliente.uf = "SP";
+                cliente.cep = "13000000";
+                sessao.persist(cliente);
+
+                ProdutoLegado produto = new ProdutoLegado();
+                produto.nome = "Produto Legado";
+                produto.descricao = "Cadastrado antes do Flyway";
+                produto.preco = new BigDecimal("10.00");
+                produto.quantidadeEmEstoque = 5;
+                sessao.persist(produto);
+
+                PedidoLegado pedido = new PedidoLegado();
+                pedido.cliente = cliente;
+                pedido.dataPedido = LocalDateTime.now();
+                pedido.valorTotal = new BigDecimal("20.00");
+                pedido.status = StatusPedido.FINALIZADO;
+                sessao.persist(pedido);
+
+                ItemPedidoLegado item = new ItemPedidoLegado();
+                item.pedido = pedido;
+                item.produto = produto;
+                item.quantidade = 2;
+                item.precoUnitario = produto.preco;
+                sessao.persist(item);
+            });
+        }
+    }
+
+    private Cliente novoCliente(String email, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Migrado");
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua M");
+        cliente.setBairro("Centro");
+        cliente.setCidade("São Paulo");
+        cliente.setUf("SP");
+        cliente.setCep("01000000");
+        return cliente;
+    }
+
+    static class ClienteLegado {
+        Long id;
+        String nome;
+        String email;
+        String cpf;
+        String telefone;
+        String logradouro;
+        String numero;
+        String complemento;
+        String bairro;
+        String cidade;
+        String uf;
+        String cep;
+    }
+
+    static class ProdutoLegado {
+        Long id;
+        String nome;
+        String descricao;
+        BigDecimal preco;
+        Integer quantidadeEmEstoque;
+    }
+
+    static class PedidoLegado {
+        Long id;
+        ClienteLegado cliente;
+        LocalDateTime dataPedido;
+        BigDecimal valorTotal;
+        StatusPedido status;
+        Long version;
+    }
+
+    static class ItemPedidoLegado {
+        Long id;
+        PedidoLegado pedido;
+        ProdutoLegado produto;
+        Integer quantidade;
+        BigDecimal precoUnitario;
+    }
+}
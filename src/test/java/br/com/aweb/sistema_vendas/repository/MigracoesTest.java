@@ -0,0 +1,44 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.com.aweb.sistema_vendas.model.Cliente;
+
+// Banco vazio migrado do zero pelo Flyway. O contexto só sobe se o esquema resultante passar
+// no ddl-auto=validate contra as entidades atuais
+@SpringBootTest
+@DisabledIfSystemProperty(named = "user.name", matches = "root", disabledReason = "o initdb do PostgreSQL não roda como root")
+class MigracoesTest {
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        PostgresEmbutido.registrar(registry, PostgresEmbutido.novoBanco("migracoes"));
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bancoNovoRecebeTodasAsMigracoes() {
+        MigrationInfoService info = flyway.info();
+        assertEquals(0, info.pending().length);
+        assertEquals(info.all().length, info.applied().length);
+
+        assertEquals(List.of(Cliente.UK_CPF, Cliente.UK_EMAIL), PostgresEmbutido.constraintsUnicas(jdbcTemplate, "clientes"));
+    }
+}
@@ -0,0 +1,255 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.dto.LinhaExportacaoPedidoDTO;
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+import br.com.aweb.sistema_vendas.repository.GravadorSqlDataSource.Consulta;
+import br.com.aweb.sistema_vendas.repository.GravadorSqlDataSource.Parametro;
+
+// Cada consulta dos repositórios precisa continuar usando seu índice no esquema das migrações.
+// O SQL é o que o Hibernate gera de fato, gravado com os parâmetros no caminho até o driver e
+// repetido com EXPLAIN (os filtros opcionais "? is null or ..." só somem do plano com os valores).
+// Com tabelas vazias o planejador preferiria varredura sequencial, então ela é desligada na
+// transação: se o índice existir e servir para a consulta, ele aparece no plano.
+// O driver passa a usar comando preparado no servidor depois de prepareThreshold (5) execuções, e
+// a partir da sexta o PostgreSQL pode trocar o plano de cada execução por um genérico, feito sem os
+// valores: a mesma consulta também é explicada com PREPARE, depois de 6 EXECUTEs, no plan_cache_mode
+// em que a chamada deixou a transação
+@SpringBootTest
+@DisabledIfSystemProperty(named = "user.name", matches = "root", disabledReason = "o initdb do PostgreSQL não roda como root")
+class PlanoConsultaTest {
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        PostgresEmbutido.registrar(registry, PostgresEmbutido.novoBanco("plano_consulta"));
+    }
+
+    @TestConfiguration
+    static class Gravacao {
+
+        @Bean
+        static BeanPostProcessor gravadorSqlPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof GravadorSqlDataSource)) {
+                        return new GravadorSqlDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ResumoVendaRegiaoDiaRepository resumoVendaRegiaoDiaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TestFactory
+    Stream<DynamicTest> consultaUsaIndice() {
+        LocalDateTime agora = LocalDateTime.now();
+        return Stream.of(
+                plano("PedidoRepository.findByStatus(ATIVO)", "idx_pedidos_ativos",
+                        () -> pedidoRepository.findByStatus(StatusPedido.ATIVO)),
+                plano("PedidoRepository.listarResumos", "idx_pedidos_data",
+                        () -> pedidoRepository.listarResumos(Limit.of(50))),
+                plano("PedidoRepository.listarResumosApos", "idx_pedidos_data",
+                        () -> pedidoRepository.listarResumosApos(agora, 10L, Limit.of(50))),
+                plano("PedidoRepository.exportar(período)", "idx_pedidos_data", () -> {
+                    try (Stream<LinhaExportacaoPedidoDTO> linhas =
+                            pedidoRepository.exportar(null, agora.minusDays(30), agora)) {
+                        linhas.count();
+                    }
+                }),
+                plano("ItemPedidoRepository.somarQuantidadesPorProduto", "idx_itens_pedido_pedido",
+                        () -> itemPedidoRepository.somarQuantidadesPorProduto(1L)),
+                plano("ResumoVendaRegiaoDiaRepository.somarPorDia", "resumo_vendas_regiao_dia_pkey",
+                        () -> resumoVendaRegiaoDiaRepository.somarPorDia(LocalDate.now().minusDays(30), LocalDate.now())),
+                plano("ClienteRepository.listarResumos", "idx_clientes_nome", false,
+                        () -> clienteRepository.listarResumos(null, null, null, null, null, null, null, Limit.of(51))),
+                plano("ClienteRepository.listarResumos(cursor)", "idx_clientes_nome", false,
+                        () -> clienteRepository.listarResumos(null, null, null, null, null, "M", 10L, Limit.of(51))),
+                plano("ClienteRepository.listarResumos(nome)", "idx_clientes_nome_trgm", false,
+                        () -> clienteRepository.listarResumos("mar%", null, null, null, null, null, null, Limit.of(51))),
+                plano("ClienteRepository.listarResumos(cpf)", "uk_clientes_cpf", false,
+                        () -> clienteRepository.listarResumos(null, "52998224725", null, null, null, null, null, Limit.of(51))),
+                plano("ClienteRepository.listarResumos(e-mail)", "idx_clientes_email_lower", false,
+                        () -> clienteRepository.listarResumos(null, null, "mar%", null, null, null, null, Limit.of(51))),
+                plano("ClienteRepository.listarResumos(cidade)", "idx_clientes_cidade_uf", false,
+                        () -> clienteRepository.listarResumos(null, null, null, "camp%", "SP", null, null, Limit.of(51))));
+    }
+
+    // Chaves estrangeiras sem consulta na aplicação: o índice serve à verificação que o PostgreSQL
+    // faz ao excluir cliente/produto (mesmo formato da consulta interna da FK)
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            pedidos do cliente | select 1 from only pedidos x where cliente_id = 1 for key share of x       | idx_pedidos_cliente
+            itens do produto   | select 1 from only itens_pedido x where produto_id = 1 for key share of x | idx_itens_pedido_produto
+            """)
+    void chaveEstrangeiraUsaIndice(String consulta, String sql, String indice) {
+        String plano = explicar(new Consulta(sql, List.of()));
+
+        assertTrue(plano.contains(indice), () -> consulta + " deveria usar " + indice + ":\n" + plano);
+    }
+
+    private DynamicTest plano(String consulta, String indice, Runnable chamada) {
+        return plano(consulta, indice, true, chamada);
+    }
+
+    // planoGenerico = false: a chamada precisa deixar o PostgreSQL planejar sempre com os valores
+    private DynamicTest plano(String consulta, String indice, boolean planoGenerico, Runnable chamada) {
+        return DynamicTest.dynamicTest(consulta, () -> {
+            String[] modo = new String[1];
+            List<Consulta> gravadas = GravadorSqlDataSource.gravar(
+                    () -> transactionTemplate.executeWithoutResult(status -> {
+                        chamada.run();
+                        modo[0] = jdbcTemplate.queryForObject("show plan_cache_mode", String.class);
+                    }));
+            assertEquals(1, gravadas.size(), () -> consulta + " deveria executar uma consulta: " + gravadas);
+
+            Consulta gravada = gravadas.get(0);
+            String plano = explicar(gravada);
+            assertTrue(plano.contains(indice),
+                    () -> consulta + " deveria usar " + indice + ":\n" + gravada.sql() + "\n" + plano);
+
+            if (!planoGenerico) {
+                assertEquals("force_custom_plan", modo[0], () -> consulta + " não deveria usar plano genérico");
+            }
+            String preparado = explicarPreparada(gravada, modo[0]);
+            assertTrue(preparado.contains(indice),
+                    () -> consulta + " preparada deveria usar " + indice + ":\n" + gravada.sql() + "\n" + preparado);
+        });
+    }
+
+    private String explicar(Consulta consulta) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            List<String> linhas = jdbcTemplate.query(conexao -> {
+                PreparedStatement explain = conexao.prepareStatement("explain " + consulta.sql());
+                consulta.aplicar(explain);
+                return explain;
+            }, (resultado, linha) -> resultado.getString(1));
+            return String.join("\n", linhas);
+        });
+    }
+
+    private String explicarPreparada(Consulta consulta, String modo) {
+        String tipos = consulta.parametros().stream()
+                .map(PlanoConsultaTest::tipo)
+                .collect(Collectors.joining(", ", "(", ")"));
+        String valores = consulta.parametros().stream()
+                .map(PlanoConsultaTest::literal)
+                .collect(Collectors.joining(", ", "(", ")"));
+        boolean semParametros = consulta.parametros().isEmpty();
+        String preparar = "prepare consulta" + (semParametros ? "" : tipos) + " as " + numerarParametros(consulta.sql());
+        String executar = "execute consulta" + (semParametros ? "" : valores);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            jdbcTemplate.execute("set local plan_cache_mode = " + modo);
+            jdbcTemplate.execute(preparar);
+            try {
+                for (int i = 0; i < 6; i++) {
+                    jdbcTemplate.query(executar, resultado -> { });
+                }
+                return String.join("\n", jdbcTemplate.queryForList("explain " + executar, String.class));
+            } finally {
+                jdbcTemplate.execute("deallocate consulta");
+            }
+        });
+    }
+
+    // "?" do JDBC viram $1, $2... do PREPARE (fora de literais do SQL)
+    private static String numerarParametros(String sql) {
+        StringBuilder numerado = new StringBuilder();
+        boolean literal = false;
+        int parametro = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                literal = !literal;
+            }
+            if (c == '?' && !literal) {
+                numerado.append('$').append(++parametro);
+            } else {
+                numerado.append(c);
+            }
+        }
+        return numerado.toString();
+    }
+
+    // Tipo que o driver informa ao servidor para cada parâmetro, conforme o setXxx usado
+    private static String tipo(Parametro parametro) {
+        JDBCType tipo = switch (parametro.metodo().getName()) {
+            case "setNull" -> JDBCType.valueOf((Integer) parametro.argumentos()[1]);
+            case "setString" -> JDBCType.VARCHAR;
+            case "setInt" -> JDBCType.INTEGER;
+            case "setLong" -> JDBCType.BIGINT;
+            case "setBigDecimal" -> JDBCType.NUMERIC;
+            case "setDate" -> JDBCType.DATE;
+            case "setTimestamp" -> JDBCType.TIMESTAMP;
+            default -> throw new IllegalStateException("Parâmetro sem tipo conhecido: " + parametro.metodo());
+        };
+        return switch (tipo) {
+            case VARCHAR -> "varchar";
+            case INTEGER -> "int4";
+            case BIGINT -> "int8";
+            case NUMERIC -> "numeric";
+            case DATE -> "date";
+            case TIMESTAMP -> "timestamp";
+            case VARBINARY -> "bytea";
+            default -> throw new IllegalStateException("Parâmetro sem tipo conhecido: " + tipo);
+        };
+    }
+
+    private static String literal(Parametro parametro) {
+        Object valor = parametro.argumentos()[1];
+        if (parametro.metodo().getName().equals("setNull") || valor == null) {
+            return "null";
+        }
+        if (valor instanceof Number) {
+            return valor.toString();
+        }
+        return "'" + valor.toString().replace("'", "''") + "'";
+    }
+}
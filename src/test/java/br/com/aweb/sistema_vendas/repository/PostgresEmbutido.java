@@ -0,0 +1,73 @@
+package br.com.aweb.sistema_vendas.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// PostgreSQL de verdade para os testes das migrações e dos planos de consulta, sem Docker:
+// um servidor por JVM (binários do zonky, mesma versão principal do docker-compose) e um banco
+// novo por cenário. O initdb se recusa a rodar como root, por isso esses testes são ignorados
+// quando o usuário é root (@DisabledIfSystemProperty). Também usado pelos testes da réplica
+public final class PostgresEmbutido {
+
+    public static final String USUARIO = "postgres";
+
+    private static EmbeddedPostgres servidor;
+
+    private PostgresEmbutido() {
+    }
+
+    // Cria o banco e devolve a URL JDBC
+    public static synchronized String novoBanco(String nome) {
+        try {
+            if (servidor == null) {
+                servidor = EmbeddedPostgres.start();
+                EmbeddedPostgres iniciado = servidor;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        iniciado.close();
+                    } catch (IOException e) {
+                        // JVM já está terminando
+                    }
+                }));
+            }
+            try (Connection conexao = servidor.getPostgresDatabase().getConnection();
+                    Statement comando = conexao.createStatement()) {
+                comando.execute("create database " + nome);
+            }
+            return servidor.getJdbcUrl(USUARIO, nome);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A aplicação como em produção: esquema pelas migrações do Flyway e conferido pelo ddl-auto=validate
+    public static void registrar(DynamicPropertyRegistry registry, String url) {
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> USUARIO);
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "5");
+        registry.add("spring.datasource.hikari.minimum-idle", () -> "1");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    // Nomes das constraints únicas da tabela, em ordem alfabética
+    static List<String> constraintsUnicas(JdbcTemplate jdbcTemplate, String tabela) {
+        return jdbcTemplate.queryForList("""
+                select conname from pg_constraint
+                where conrelid = cast(? as regclass) and contype = 'u'
+                order by conname
+                """, String.class, tabela);
+    }
+}
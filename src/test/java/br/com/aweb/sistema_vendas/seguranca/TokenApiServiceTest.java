@@ -0,0 +1,76 @@
+package br.com.aweb.sistema_vendas.seguranca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class TokenApiServiceTest {
+
+    private static final Instant AGORA = Instant.parse("2026-01-10T12:00:00Z");
+    private static final String SEGREDO = "segredo-de-teste-com-pelo-menos-32-bytes";
+
+    private final Authentication professor = UsernamePasswordAuthenticationToken.authenticated("professor", null,
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+
+    @Test
+    void tokenValidoDevolveUsuarioEPerfis() {
+        TokenApiService servico = servico(AGORA);
+        var emitido = servico.emitir(professor);
+
+        Authentication autenticacao = servico.verificar(emitido.token()).orElseThrow();
+
+        assertEquals(AGORA.plus(Duration.ofHours(1)), emitido.expiraEm());
+        assertEquals("professor", autenticacao.getName());
+        assertTrue(autenticacao.isAuthenticated());
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), autenticacao.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void tokenAlteradoOuDeOutraChaveERecusado() {
+        TokenApiService servico = servico(AGORA);
+        String token = servico.emitir(professor).token();
+        String assinatura = token.substring(token.indexOf('.'));
+
+        // Mesmo formato, outro usuário: a assinatura não confere
+        String trocado = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("aluno|" + AGORA.plusSeconds(3600).getEpochSecond() + "|ROLE_ADMIN").getBytes())
+                + assinatura;
+
+        assertTrue(servico.verificar(trocado).isEmpty());
+        assertTrue(servico.verificar("lixo").isEmpty());
+        assertTrue(servico.verificar("a.b.c").isEmpty());
+        assertTrue(new TokenApiService("outro-segredo", Duration.ofHours(1), relogio(AGORA))
+                .verificar(token).isEmpty());
+    }
+
+    @Test
+    void tokenExpiradoERecusado() {
+        String token = servico(AGORA).emitir(professor).token();
+
+        assertTrue(servico(AGORA.plus(Duration.ofMinutes(59))).verificar(token).isPresent());
+        assertTrue(servico(AGORA.plus(Duration.ofHours(1))).verificar(token).isEmpty());
+    }
+
+    private static TokenApiService servico(Instant agora) {
+        return new TokenApiService(SEGREDO, Duration.ofHours(1), relogio(agora));
+    }
+
+    private static Clock relogio(Instant agora) {
+        return Clock.fixed(agora, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.aweb.sistema_vendas.dto.ProdutoBuscaDTO;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+
+class BuscaProdutoServiceTest {
+
+    private BuscaProdutoService busca;
+
+    @BeforeEach
+    void setUp() {
+        busca = new BuscaProdutoService(null);
+        busca.indexar(produto(1L, "Caneta Azul", "Caneta esferográfica"));
+        busca.indexar(produto(2L, "Caderno Universitário", "Capa dura, 200 folhas"));
+        busca.indexar(produto(3L, "Lápis", "Lápis preto para caderno"));
+        busca.indexar(produto(4L, "Borracha", "Borracha branca"));
+    }
+
+    @Test
+    void buscaPorPrefixoIgnorandoAcentosEMaiusculas() {
+        assertEquals(List.of(1L), ids(busca.buscar("CAN", 10)));
+        assertEquals(List.of(2L), ids(busca.buscar("universitario", 10)));
+        assertEquals(List.of(3L), ids(busca.buscar("lapis", 10)));
+    }
+
+    @Test
+    void nomeTemPrioridadeSobreDescricao() {
+        // "Caderno" está no nome do 2 e só na descrição do 3
+        assertEquals(List.of(2L, 3L), ids(busca.buscar("cad", 10)));
+    }
+
+    @Test
+    void todosOsTermosPrecisamCasar() {
+        assertEquals(List.of(1L), ids(busca.buscar("caneta az", 10)));
+        assertTrue(busca.buscar("caneta preta", 10).isEmpty());
+    }
+
+    @Test
+    void respeitaOLimite() {
+        assertEquals(1, busca.buscar("ca", 1).size());
+    }
+
+    @Test
+    void atualizacoesRefletemNoIndice() {
+        busca.indexar(produto(4L, "Apontador", "Apontador com depósito"));
+        busca.remover(1L);
+        busca.ajustarEstoque(2L, -3);
+
+        assertTrue(busca.buscar("borracha", 10).isEmpty());
+        assertTrue(busca.buscar("caneta", 10).isEmpty());
+        assertEquals(List.of(4L), ids(busca.buscar("apont", 10)));
+        assertEquals(7, busca.buscar("caderno univ", 10).get(0).quantidadeEmEstoque());
+    }
+
+    @Test
+    void remontagemNaoEsvaziaOIndiceDuranteALeitura() {
+        ProdutoRepository repositorio = mock(ProdutoRepository.class);
+        BuscaProdutoService buscaComBanco = new BuscaProdutoService(repositorio);
+        buscaComBanco.indexar(produto(1L, "Caneta Azul", "Caneta esferográfica"));
+
+        // Enquanto o banco é lido, as buscas ainda respondem com o índice anterior
+        when(repositorio.findAll()).thenAnswer(chamada -> {
+            assertEquals(List.of(1L), ids(buscaComBanco.buscar("caneta", 10)));
+            return List.of(produto(5L, "Caneta Vermelha", "Caneta gel"));
+        });
+        buscaComBanco.reconstruir();
+
+        assertEquals(List.of(5L), ids(buscaComBanco.buscar("caneta", 10)));
+    }
+
+    private List<Long> ids(List<ProdutoBuscaDTO> produtos) {
+        return produtos.stream().map(ProdutoBuscaDTO::id).toList();
+    }
+
+    private Produto produto(Long id, String nome, String descricao) {
+        return new Produto(id, nome, descricao, new BigDecimal("1.00"), 10);
+    }
+}
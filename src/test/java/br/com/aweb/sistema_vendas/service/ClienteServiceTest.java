@@ -0,0 +1,106 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.aweb.sistema_vendas.dto.ClienteResumoDTO;
+import br.com.aweb.sistema_vendas.dto.FiltroClientes;
+import br.com.aweb.sistema_vendas.dto.PaginaClientes;
+import br.com.aweb.sistema_vendas.model.Cliente;
+
+@SpringBootTest
+class ClienteServiceTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Test
+    void salvarComEmailOuCpfRepetidoRetornaErroDoCampo() {
+        clienteService.salvar(novoCliente("unico@teste.com", "71428793860"));
+
+        IllegalArgumentException email = assertThrows(IllegalArgumentException.class,
+                () -> clienteService.salvar(novoCliente("unico@teste.com", "28625587887")));
+        assertEquals("E-mail já cadastrado.", email.getMessage());
+
+        IllegalArgumentException cpf = assertThrows(IllegalArgumentException.class,
+                () -> clienteService.salvar(novoCliente("outro@teste.com", "71428793860")));
+        assertEquals("CPF já cadastrado.", cpf.getMessage());
+    }
+
+    @Test
+    void atualizarParaDadosDeOutroClienteRetornaErroDoCampo() {
+        clienteService.salvar(novoCliente("primeiro@teste.com", "45317828791"));
+        Cliente segundo = clienteService.salvar(novoCliente("segundo@teste.com", "80715625055"));
+
+        IllegalArgumentException email = assertThrows(IllegalArgumentException.class,
+                () -> clienteService.atualizar(segundo.getId(), novoCliente("primeiro@teste.com", "80715625055")));
+        assertEquals("E-mail já cadastrado.", email.getMessage());
+
+        IllegalArgumentException cpf = assertThrows(IllegalArgumentException.class,
+                () -> clienteService.atualizar(segundo.getId(), novoCliente("segundo@teste.com", "45317828791")));
+        assertEquals("CPF já cadastrado.", cpf.getMessage());
+
+        // Manter os próprios e-mail/CPF continua permitido
+        Cliente atualizado = clienteService.atualizar(segundo.getId(), novoCliente("segundo@teste.com", "80715625055"));
+        assertEquals("segundo@teste.com", atualizado.getEmail());
+    }
+
+    @Test
+    void listagemFiltraNoBancoEPaginaPorCursor() {
+        Cliente ana = novoCliente("ana.paginada@teste.com", "17320508052");
+        ana.setNome("Paginada Ana");
+        clienteService.salvar(ana);
+        Cliente bia = novoCliente("bia.paginada@teste.com", "22360679767");
+        bia.setNome("Paginada Bia");
+        clienteService.salvar(bia);
+        Cliente caio = novoCliente("caio.paginada@teste.com", "26457513182");
+        caio.setNome("Paginada_Caio");
+        caio.setCidade("Campinas");
+        clienteService.salvar(caio);
+
+        FiltroClientes porNome = new FiltroClientes("paginada", null, null);
+        PaginaClientes primeira = clienteService.listarPagina(porNome, null, null, 2);
+        assertEquals(List.of("Paginada Ana", "Paginada Bia"), nomes(primeira));
+        assertTrue(primeira.isTemProxima());
+
+        PaginaClientes segunda = clienteService.listarPagina(porNome, primeira.proximoNome(), primeira.proximoId(), 2);
+        assertEquals(List.of("Paginada_Caio"), nomes(segunda));
+        assertFalse(segunda.isTemProxima());
+
+        // '_' digitado é literal, não curinga do LIKE
+        assertEquals(List.of("Paginada_Caio"), nomes(clienteService.listarPagina(
+                new FiltroClientes("PAGINADA_", null, null), null, null, 10)));
+        assertEquals(List.of("Paginada Bia"), nomes(clienteService.listarPagina(
+                new FiltroClientes("223.606.797-67", null, null), null, null, 10)));
+        assertEquals(List.of("Paginada Ana"), nomes(clienteService.listarPagina(
+                new FiltroClientes("Ana.Paginada@", null, null), null, null, 10)));
+        assertEquals(List.of("Paginada_Caio"), nomes(clienteService.listarPagina(
+                new FiltroClientes("paginada", "camp", "sp"), null, null, 10)));
+    }
+
+    private List<String> nomes(PaginaClientes pagina) {
+        return pagina.clientes().stream().map(ClienteResumoDTO::nome).toList();
+    }
+
+    private Cliente novoCliente(String email, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Único");
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua C");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Santos");
+        cliente.setUf("SP");
+        cliente.setCep("11000000");
+        return cliente;
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+
+// Correção automática ligada e um JdbcTemplate que anota se os lotes rodam em transação
+// (contexto próprio, separado do compartilhado pelos outros testes)
+@SpringBootTest(properties = "vendas.pedidos.verificacao-total.corrigir=true")
+class ConsistenciaTotalPedidoServiceTest {
+
+    @TestConfiguration
+    static class Lotes {
+
+        @Bean
+        LotesJdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new LotesJdbcTemplate(dataSource);
+        }
+    }
+
+    static class LotesJdbcTemplate extends JdbcTemplate {
+
+        volatile boolean loteEmTransacao;
+
+        LotesJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> argumentos) {
+            loteEmTransacao = TransactionSynchronizationManager.isActualTransactionActive();
+            return super.batchUpdate(sql, argumentos);
+        }
+    }
+
+    @Autowired
+    private ConsistenciaTotalPedidoService consistenciaTotalPedidoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private LotesJdbcTemplate jdbcTemplate;
+
+    @Test
+    void verificacaoAgendadaCorrigeTotaisNumaTransacao() {
+        Produto regua = novoProduto();
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente()));
+        pedidoService.adicionarItem(pedido.getId(), regua.getId(), 2);
+        jdbcTemplate.update("update pedidos set valor_total = 1 where id = ?", pedido.getId());
+
+        // A rotina chama corrigir() por dentro do próprio bean: a transação não pode depender do proxy
+        consistenciaTotalPedidoService.executarVerificacao();
+
+        assertTrue(jdbcTemplate.loteEmTransacao);
+        assertEquals(new BigDecimal("6.00"), pedidoService.buscarPorId(pedido.getId()).get().getValorTotal());
+        assertTrue(consistenciaTotalPedidoService.verificar().isEmpty());
+    }
+
+    private Produto novoProduto() {
+        Produto produto = new Produto();
+        produto.setNome("Régua");
+        produto.setDescricao("Régua");
+        produto.setPreco(new BigDecimal("3.00"));
+        produto.setQuantidadeEmEstoque(100);
+        return produtoRepository.save(produto);
+    }
+
+    private Cliente novoCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Total");
+        cliente.setEmail("corrige@teste.com");
+        cliente.setCpf("52601815906");
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua B");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Campinas");
+        cliente.setUf("SP");
+        cliente.setCep("13000000");
+        return cliente;
+    }
+}
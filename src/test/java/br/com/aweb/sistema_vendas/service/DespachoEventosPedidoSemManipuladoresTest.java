@@ -0,0 +1,71 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.EventoPedido;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.model.StatusEventoPedido;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.EventoPedidoRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+
+// A aplicação como está hoje, sem nenhum ManipuladorEventoPedido registrado
+@SpringBootTest
+class DespachoEventosPedidoSemManipuladoresTest {
+
+    @Autowired
+    private DespachoEventosPedidoService despachoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EventoPedidoRepository eventoPedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    void semManipuladoresOsEventosFicamPendentes() {
+        Produto produto = new Produto();
+        produto.setNome("Produto Outbox");
+        produto.setDescricao("Produto Outbox");
+        produto.setPreco(new BigDecimal("3.00"));
+        produto.setQuantidadeEmEstoque(10);
+        produto = produtoRepository.save(produto);
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente()));
+        pedidoService.adicionarItem(pedido.getId(), produto.getId(), 1);
+        pedidoService.finalizarPedido(pedido.getId());
+
+        assertEquals(0, despachoService.despachar());
+
+        EventoPedido finalizado = eventoPedidoRepository.findByPedidoIdOrderById(pedido.getId()).get(0);
+        assertEquals(StatusEventoPedido.PENDENTE, finalizado.getStatus());
+        assertEquals(0, finalizado.getTentativas());
+    }
+
+    private Cliente novoCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Outbox");
+        cliente.setEmail("outbox.vazio@teste.com");
+        cliente.setCpf("99351819019");
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua G");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Sorocaba");
+        cliente.setUf("SP");
+        cliente.setCep("18000000");
+        return cliente;
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.aweb.sistema_vendas.dto.EventoPedidoDTO;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.EventoPedido;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.model.StatusEventoPedido;
+import br.com.aweb.sistema_vendas.model.TipoEventoPedido;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.EventoPedidoRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+
+// Com um manipulador de teste registrado (contexto próprio); sem nenhum, ver
+// DespachoEventosPedidoSemManipuladoresTest
+@SpringBootTest
+class DespachoEventosPedidoServiceTest {
+
+    @TestConfiguration
+    static class Manipuladores {
+
+        @Bean
+        ManipuladorTeste manipuladorTeste() {
+            return new ManipuladorTeste();
+        }
+    }
+
+    // Guarda o que recebeu; com falhar ligado simula o serviço externo fora do ar
+    static class ManipuladorTeste implements ManipuladorEventoPedido {
+
+        final List<EventoPedidoDTO> recebidos = new CopyOnWriteArrayList<>();
+        volatile boolean falhar;
+
+        @Override
+        public void tratar(EventoPedidoDTO evento) {
+            if (falhar) {
+                throw new IllegalStateException("serviço externo fora do ar");
+            }
+            recebidos.add(evento);
+        }
+    }
+
+    @Autowired
+    private DespachoEventosPedidoService despachoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EventoPedidoRepository eventoPedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ManipuladorTeste manipulador;
+
+    @BeforeEach
+    void entregasFuncionando() {
+        manipulador.falhar = false;
+    }
+
+    @Test
+    void eventosSaoEntreguesComNovaTentativaAposFalha() {
+        Produto produto = novoProduto();
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente("outbox@teste.com", "14142135651")));
+        pedidoService.adicionarItem(pedido.getId(), produto.getId(), 1);
+        pedidoService.finalizarPedido(pedido.getId());
+
+        EventoPedido finalizado = eventos(pedido).get(0);
+        assertEquals(TipoEventoPedido.FINALIZADO, finalizado.getTipo());
+        assertEquals(StatusEventoPedido.PENDENTE, finalizado.getStatus());
+
+        // Primeira entrega falha: continua pendente, reagendado para depois
+        manipulador.falhar = true;
+        despachoService.despachar();
+        finalizado = eventos(pedido).get(0);
+        assertEquals(StatusEventoPedido.PENDENTE, finalizado.getStatus());
+        assertEquals(1, finalizado.getTentativas());
+        assertNotNull(finalizado.getErro());
+        assertTrue(finalizado.getProximaTentativa().isAfter(LocalDateTime.now()));
+
+        // Ainda não venceu: a próxima rodada não o entrega
+        manipulador.falhar = false;
+        despachoService.despachar();
+        assertTrue(manipulador.recebidos.stream().noneMatch(e -> e.pedidoId().equals(pedido.getId())));
+
+        vencer(pedido);
+        despachoService.despachar();
+        finalizado = eventos(pedido).get(0);
+        assertEquals(StatusEventoPedido.PROCESSADO, finalizado.getStatus());
+        assertNull(finalizado.getErro());
+        EventoPedidoDTO entregue = manipulador.recebidos.stream().filter(e -> e.pedidoId().equals(pedido.getId())).findFirst().get();
+        assertEquals(2, entregue.tentativa());
+
+        // Cancelamento gera outro evento; esgotadas as tentativas ele fica como FALHOU
+        pedidoService.cancelarPedido(pedido.getId());
+        jdbcTemplate.update("update eventos_pedido set tentativas = 9 where pedido_id = ? and tipo = 'CANCELADO'",
+                pedido.getId());
+        manipulador.falhar = true;
+        despachoService.despachar();
+        EventoPedido cancelado = eventos(pedido).get(1);
+        assertEquals(TipoEventoPedido.CANCELADO, cancelado.getTipo());
+        assertEquals(StatusEventoPedido.FALHOU, cancelado.getStatus());
+        assertEquals(10, cancelado.getTentativas());
+    }
+
+    @Test
+    void eventoNaoPassaNaFrenteDeOutroPendenteDoMesmoPedido() {
+        Produto produto = novoProduto();
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente("outbox.ordem@teste.com", "47104974601")));
+        pedidoService.adicionarItem(pedido.getId(), produto.getId(), 1);
+        pedidoService.finalizarPedido(pedido.getId());
+
+        // FINALIZADO falha e fica esperando nova tentativa
+        manipulador.falhar = true;
+        despachoService.despachar();
+        manipulador.falhar = false;
+
+        // O CANCELADO já venceu, mas o FINALIZADO anterior continua pendente
+        pedidoService.cancelarPedido(pedido.getId());
+        despachoService.despachar();
+        assertTrue(manipulador.recebidos.stream().noneMatch(e -> e.pedidoId().equals(pedido.getId())));
+        assertEquals(StatusEventoPedido.PENDENTE, eventos(pedido).get(1).getStatus());
+        assertEquals(0, eventos(pedido).get(1).getTentativas());
+
+        vencer(pedido);
+        despachoService.despachar();
+        despachoService.despachar();
+        assertEquals(List.of(TipoEventoPedido.FINALIZADO, TipoEventoPedido.CANCELADO), manipulador.recebidos.stream()
+                .filter(e -> e.pedidoId().equals(pedido.getId()))
+                .map(EventoPedidoDTO::tipo)
+                .toList());
+    }
+
+    private List<EventoPedido> eventos(Pedido pedido) {
+        return eventoPedidoRepository.findByPedidoIdOrderById(pedido.getId());
+    }
+
+    private void vencer(Pedido pedido) {
+        jdbcTemplate.update("update eventos_pedido set proxima_tentativa = ? where pedido_id = ?",
+                LocalDateTime.now().minusSeconds(1), pedido.getId());
+    }
+
+    private Produto novoProduto() {
+        Produto produto = new Produto();
+        produto.setNome("Produto Outbox");
+        produto.setDescricao("Produto Outbox");
+        produto.setPreco(new BigDecimal("3.00"));
+        produto.setQuantidadeEmEstoque(10);
+        return produtoRepository.save(produto);
+    }
+
+    private Cliente novoCliente(String email, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Outbox");
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua G");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Sorocaba");
+        cliente.setUf("SP");
+        cliente.setCep("18000000");
+        return cliente;
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+
+@SpringBootTest
+class ExportacaoPedidoServiceTest {
+
+    @Autowired
+    private ExportacaoPedidoService exportacaoPedidoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportaUmaLinhaPorItemFiltrandoPorStatus() throws IOException {
+        Produto produto = novoProduto("Mouse; sem fio");
+        Cliente cliente = clienteRepository.save(novoCliente());
+        Pedido cancelado = pedidoService.criarPedido(cliente);
+        pedidoService.adicionarItem(cancelado.getId(), produto.getId(), 1);
+        pedidoService.adicionarItem(cancelado.getId(), produto.getId(), 2);
+        pedidoService.cancelarPedido(cancelado.getId());
+        Pedido ativoVazio = pedidoService.criarPedido(cliente);
+
+        LocalDateTime inicio = LocalDateTime.now().minusMinutes(5);
+
+        List<String> linhas = csv(StatusPedido.CANCELADO, inicio).lines()
+                .filter(l -> l.startsWith(cancelado.getId() + ";"))
+                .toList();
+        assertEquals(2, linhas.size());
+        assertTrue(linhas.get(0).contains(";\"Mouse; sem fio\";1;25.00"));
+        assertTrue(csv(StatusPedido.CANCELADO, inicio).lines().noneMatch(l -> l.startsWith(ativoVazio.getId() + ";")));
+
+        // Pedido sem itens sai em uma linha, com as colunas do item vazias
+        assertTrue(csv(StatusPedido.ATIVO, inicio).lines()
+                .anyMatch(l -> l.startsWith(ativoVazio.getId() + ";") && l.endsWith(";0.00;;;;;")));
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        exportacaoPedidoService.exportarJson(StatusPedido.CANCELADO, inicio, null, json);
+        JsonNode itens = objectMapper.readTree(json.toByteArray());
+        assertTrue(itens.isArray());
+        long doPedido = 0;
+        for (JsonNode item : itens) {
+            if (item.get("pedidoId").asLong() == cancelado.getId()) {
+                doPedido++;
+                assertEquals("CANCELADO", item.get("status").asText());
+            }
+        }
+        assertEquals(2, doPedido);
+    }
+
+    private String csv(StatusPedido status, LocalDateTime inicio) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoPedidoService.exportarCsv(status, inicio, null, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private Produto novoProduto(String nome) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setDescricao(nome);
+        produto.setPreco(new BigDecimal("25.00"));
+        produto.setQuantidadeEmEstoque(100);
+        return produtoRepository.save(produto);
+    }
+
+    private Cliente novoCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Exportação");
+        cliente.setEmail("exportacao@teste.com");
+        cliente.setCpf("13579246828");
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua D");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Curitiba");
+        cliente.setUf("PR");
+        cliente.setCep("80000000");
+        return cliente;
+    }
+}
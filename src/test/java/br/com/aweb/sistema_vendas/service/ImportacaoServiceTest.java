@@ -0,0 +1,92 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.aweb.sistema_vendas.dto.ErroImportacaoDTO;
+import br.com.aweb.sistema_vendas.dto.RelatorioImportacao;
+
+// Lotes pequenos para exercitar vários lotes (e o último, incompleto) com poucas linhas
+@SpringBootTest(properties = "vendas.importacao.tamanho-lote=2")
+class ImportacaoServiceTest {
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private BuscaProdutoService buscaProdutoService;
+
+    @Test
+    void importaClientesValidosERelataLinhasRejeitadas() throws IOException {
+        String csv = """
+                nome;email;cpf;telefone;logradouro;numero;complemento;bairro;cidade;uf;cep
+                Ana;ana@importacao.com;987.654.321-00;11911111111;Rua 1;10;;Centro;São Paulo;SP;01000-000
+                Bruno;bruno@importacao.com;12345678900;11922222222;Rua 2;20;;Centro;São Paulo;SP;01000000
+                Carla;carla@importacao.com;24681357928;11933333333;"Rua 3; fundos";30;;Centro;Recife;PE;50000000
+
+                Davi;ana@importacao.com;12345678909;11944444444;Rua 4;40;;Centro;Natal;RN;59000000
+                Eva;eva@importacao.com;39053344705;11955555555;Rua 5;50;;Centro;Natal;RNN;59000000
+                """;
+
+        RelatorioImportacao relatorio = importacaoService.importarClientes(csv(csv));
+
+        assertEquals(5, relatorio.linhasLidas());
+        assertEquals(2, relatorio.importadas());
+        assertEquals(3, relatorio.rejeitadas());
+        assertEquals(3, relatorio.erros().get(0).linha());
+        assertTrue(relatorio.erros().get(0).mensagem().contains("cpf"));
+        assertEquals(new ErroImportacaoDTO(6, "E-mail ou CPF já cadastrado."), relatorio.erros().get(1));
+        assertEquals(7, relatorio.erros().get(2).linha());
+        assertTrue(relatorio.erros().get(2).mensagem().contains("uf"));
+    }
+
+    @Test
+    void importaProdutosEAtualizaIndiceDeBusca() throws IOException {
+        String csv = """
+                nome,descricao,preco,quantidade_em_estoque
+                Grampeador Importado,"Grampeador de mesa, 26/6",\"1.234,50\",7
+                Clipe Importado,Caixa de clipes,abc,3
+                Régua Importada,Régua de 30 cm,4.90,-1
+                """;
+
+        RelatorioImportacao relatorio = importacaoService.importarProdutos(csv(csv));
+
+        assertEquals(3, relatorio.linhasLidas());
+        assertEquals(1, relatorio.importadas());
+        assertEquals(2, relatorio.rejeitadas());
+        assertEquals(1, buscaProdutoService.buscar("grampeador importado", 10).size());
+        assertEquals("Grampeador de mesa, 26/6", buscaProdutoService.buscar("grampeador importado", 10).get(0).descricao());
+    }
+
+    @Test
+    void cabecalhoSemColunasObrigatoriasEhRecusado() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importacaoService.importarClientes(csv("nome;email\nAna;ana@x.com\n")));
+    }
+
+    @Test
+    void aspasSemFechamentoInterrompemAImportacaoNaLinhaDoRegistro() {
+        String csv = "nome,descricao,preco,quantidade_em_estoque\n"
+                + "Caneta Limite,Caneta azul,2.50,10\n"
+                + "Lápis Limite,\"Lápis sem fechar as aspas,1.00,5\n"
+                + "Borracha Limite,Borracha branca,0.90,8\n".repeat(LeitorCsv.MAX_REGISTRO / 30);
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> importacaoService.importarProdutos(csv(csv)));
+        assertTrue(erro.getMessage().startsWith("Linha 3:"), erro.getMessage());
+    }
+
+    private InputStream csv(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,189 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.dto.ItemCestaDTO;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.ItemPedido;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.ItemPedidoRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+class PedidoServiceTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ConsistenciaTotalPedidoService consistenciaTotalPedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void totalAcompanhaItensAdicionadosERemovidos() {
+        Produto caneta = novoProduto("Caneta", "2.50");
+        Produto caderno = novoProduto("Caderno", "15.90");
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente("total@teste.com", "39053344705")));
+
+        pedidoService.adicionarItem(pedido.getId(), caneta.getId(), 4);
+        pedidoService.adicionarItem(pedido.getId(), caderno.getId(), 2);
+        assertEquals(new BigDecimal("41.80"), valorTotal(pedido));
+
+        ItemPedido itemCaderno = itemPedidoRepository.findAll().stream()
+                .filter(i -> i.getProduto().getId().equals(caderno.getId()))
+                .findFirst().get();
+        pedidoService.removerItem(pedido.getId(), itemCaderno.getId());
+        assertEquals(new BigDecimal("10.00"), valorTotal(pedido));
+
+        assertTrue(consistenciaTotalPedidoService.verificar().isEmpty());
+    }
+
+    @Test
+    void adicionarItensGravaCestaInteiraOuNada() {
+        Produto borracha = novoProduto("Borracha", "1.50");
+        Produto estojo = novoProduto("Estojo", "20.00");
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente("cesta@teste.com", "27182818205")));
+
+        pedidoService.adicionarItens(pedido.getId(), List.of(
+                new ItemCestaDTO(borracha.getId(), 10),
+                new ItemCestaDTO(estojo.getId(), 1),
+                new ItemCestaDTO(borracha.getId(), 5)));
+
+        assertEquals(new BigDecimal("42.50"), valorTotal(pedido));
+        assertEquals(3, pedidoService.buscarComItens(pedido.getId()).get().getItens().size());
+        assertEquals(85, estoque(borracha));
+        assertEquals(99, estoque(estojo));
+
+        // Estojo sem saldo: a borracha da mesma cesta também não entra
+        assertThrows(IllegalStateException.class, () -> pedidoService.adicionarItens(pedido.getId(), List.of(
+                new ItemCestaDTO(borracha.getId(), 1),
+                new ItemCestaDTO(estojo.getId(), 100))));
+        assertThrows(IllegalArgumentException.class, () -> pedidoService.adicionarItens(pedido.getId(), List.of(
+                new ItemCestaDTO(borracha.getId(), 1),
+                new ItemCestaDTO(-1L, 1))));
+
+        assertEquals(new BigDecimal("42.50"), valorTotal(pedido));
+        assertEquals(3, pedidoService.buscarComItens(pedido.getId()).get().getItens().size());
+        assertEquals(85, estoque(borracha));
+        assertEquals(99, estoque(estojo));
+    }
+
+    @Test
+    void contadoresAcompanhamCicloDoPedido() {
+        double criados = contador("vendas.pedidos.criados");
+        double recusados = contador("vendas.pedidos.estoque.insuficiente");
+        double finalizados = contador("vendas.pedidos.finalizados");
+        double cancelados = contador("vendas.pedidos.cancelados");
+
+        Produto lapis = novoProduto("Lápis", "1.00");
+        Cliente cliente = clienteRepository.save(novoCliente("metricas@teste.com", "86288366757"));
+        Pedido finalizado = pedidoService.criarPedido(cliente);
+        Pedido cancelado = pedidoService.criarPedido(cliente);
+
+        pedidoService.adicionarItem(finalizado.getId(), lapis.getId(), 1);
+        assertThrows(IllegalStateException.class,
+                () -> pedidoService.adicionarItem(cancelado.getId(), lapis.getId(), 1000));
+        pedidoService.finalizarPedido(finalizado.getId());
+        pedidoService.cancelarPedido(cancelado.getId());
+
+        assertEquals(criados + 2, contador("vendas.pedidos.criados"));
+        assertEquals(recusados + 1, contador("vendas.pedidos.estoque.insuficiente"));
+        assertEquals(finalizados + 1, contador("vendas.pedidos.finalizados"));
+        assertEquals(cancelados + 1, contador("vendas.pedidos.cancelados"));
+    }
+
+    @Test
+    void pedidoCanceladoNaoECanceladoDeNovo() {
+        Produto regua = novoProduto("Régua", "4.00");
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente("recancelar@teste.com", "93786579741")));
+        pedidoService.adicionarItem(pedido.getId(), regua.getId(), 3);
+        pedidoService.cancelarPedido(pedido.getId());
+        assertEquals(100, estoque(regua));
+        double cancelados = contador("vendas.pedidos.cancelados");
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> pedidoService.cancelarPedido(pedido.getId()));
+        assertEquals("Pedido já cancelado", erro.getMessage());
+
+        // Estoque devolvido uma vez só
+        assertEquals(100, estoque(regua));
+        assertEquals(cancelados, contador("vendas.pedidos.cancelados"));
+    }
+
+    @Test
+    void contadoresIgnoramTransacaoDesfeita() {
+        Cliente cliente = clienteRepository.save(novoCliente("desfeito@teste.com", "08301661305"));
+        double criados = contador("vendas.pedidos.criados");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            pedidoService.criarPedido(cliente);
+            status.setRollbackOnly();
+        });
+        assertEquals(criados, contador("vendas.pedidos.criados"));
+
+        pedidoService.criarPedido(cliente);
+        assertEquals(criados + 1, contador("vendas.pedidos.criados"));
+    }
+
+    private double contador(String nome) {
+        return meterRegistry.get(nome).counter().count();
+    }
+
+    private int estoque(Produto produto) {
+        return produtoRepository.findById(produto.getId()).get().getQuantidadeEmEstoque();
+    }
+
+    private BigDecimal valorTotal(Pedido pedido) {
+        return pedidoService.buscarPorId(pedido.getId()).get().getValorTotal();
+    }
+
+    private Produto novoProduto(String nome, String preco) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setDescricao(nome);
+        produto.setPreco(new BigDecimal(preco));
+        produto.setQuantidadeEmEstoque(100);
+        return produtoRepository.save(produto);
+    }
+
+    private Cliente novoCliente(String email, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Total");
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua B");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Campinas");
+        cliente.setUf("SP");
+        cliente.setCep("13000000");
+        return cliente;
+    }
+}
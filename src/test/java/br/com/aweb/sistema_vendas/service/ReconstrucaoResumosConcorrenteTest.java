@@ -0,0 +1,122 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.aweb.sistema_vendas.dto.VendaProdutoDTO;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.PostgresEmbutido;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+
+// Reconstrução dos resumos com uma finalização aberta ao mesmo tempo, no PostgreSQL (as travas são
+// dele). A finalização já somou o pedido numa linha nova do resumo e ainda não confirmou
+@SpringBootTest
+@DisabledIfSystemProperty(named = "user.name", matches = "root", disabledReason = "o initdb do PostgreSQL não roda como root")
+class ReconstrucaoResumosConcorrenteTest {
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        PostgresEmbutido.registrar(registry, PostgresEmbutido.novoBanco("reconstrucao_resumos"));
+    }
+
+    @Autowired
+    private RelatorioVendasService relatorioVendasService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void finalizacaoDuranteAReconstrucaoEntraUmaVezSo() throws Exception {
+        Produto produto = novoProduto();
+        Pedido pedido = pedidoService.criarPedido(clienteRepository.save(novoCliente()));
+        pedidoService.adicionarItem(pedido.getId(), produto.getId(), 2);
+
+        CountDownLatch finalizado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        CompletableFuture<Void> finalizacao = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    pedidoService.finalizarPedido(pedido.getId());
+                    finalizado.countDown();
+                    aguardar(confirmar);
+                }));
+        assertTrue(finalizado.await(10, TimeUnit.SECONDS));
+
+        // A reconstrução espera a finalização terminar em vez de refazer os resumos por baixo dela
+        CompletableFuture<Void> reconstrucao = CompletableFuture.runAsync(relatorioVendasService::reconstruir);
+        Thread.sleep(500);
+        assertFalse(reconstrucao.isDone());
+
+        confirmar.countDown();
+        finalizacao.get(10, TimeUnit.SECONDS);
+        reconstrucao.get(10, TimeUnit.SECONDS);
+
+        assertEquals(new VendaProdutoDTO(produto.getId(), "Caderno Concorrente", new BigDecimal("30.00"), 2L, 1L),
+                vendas(produto));
+    }
+
+    private VendaProdutoDTO vendas(Produto produto) {
+        return relatorioVendasService.gerar(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1))
+                .porProduto().stream()
+                .filter(v -> v.produtoId().equals(produto.getId()))
+                .findFirst().get();
+    }
+
+    private static void aguardar(CountDownLatch sinal) {
+        try {
+            assertTrue(sinal.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Produto novoProduto() {
+        Produto produto = new Produto();
+        produto.setNome("Caderno Concorrente");
+        produto.setDescricao("Caderno Concorrente");
+        produto.setPreco(new BigDecimal("15.00"));
+        produto.setQuantidadeEmEstoque(100);
+        return produtoRepository.save(produto);
+    }
+
+    private Cliente novoCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Concorrente");
+        cliente.setEmail("concorrente@teste.com");
+        cliente.setCpf("50752917080");
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua C");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Jundiaí");
+        cliente.setUf("SP");
+        cliente.setCep("13200000");
+        return cliente;
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.aweb.sistema_vendas.dto.RelatorioVendasDTO;
+import br.com.aweb.sistema_vendas.dto.VendaProdutoDTO;
+import br.com.aweb.sistema_vendas.dto.VendaRegiaoDTO;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+
+@SpringBootTest
+class RelatorioVendasServiceTest {
+
+    @Autowired
+    private RelatorioVendasService relatorioVendasService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    void resumosAcompanhamFinalizacaoECancelamento() {
+        Produto teclado = novoProduto("Teclado Relatório", "100.00");
+        Produto monitor = novoProduto("Monitor Relatório", "900.00");
+        Cliente cliente = clienteRepository.save(novoCliente());
+
+        Pedido primeiro = pedidoService.criarPedido(cliente);
+        pedidoService.adicionarItem(primeiro.getId(), teclado.getId(), 1);
+        pedidoService.adicionarItem(primeiro.getId(), teclado.getId(), 2);
+        pedidoService.adicionarItem(primeiro.getId(), monitor.getId(), 1);
+        pedidoService.finalizarPedido(primeiro.getId());
+
+        Pedido segundo = pedidoService.criarPedido(cliente);
+        pedidoService.adicionarItem(segundo.getId(), teclado.getId(), 1);
+        pedidoService.finalizarPedido(segundo.getId());
+
+        // Pedido ainda ativo não conta como venda
+        Pedido aberto = pedidoService.criarPedido(cliente);
+        pedidoService.adicionarItem(aberto.getId(), teclado.getId(), 5);
+
+        assertEquals(new VendaProdutoDTO(teclado.getId(), "Teclado Relatório", new BigDecimal("400.00"), 4L, 2L),
+                produto(teclado).get());
+        assertEquals(new VendaRegiaoDTO("RR", "Relatópolis", new BigDecimal("1300.00"), 5L, 2L),
+                regiao().get());
+        assertThrows(IllegalStateException.class, () -> pedidoService.finalizarPedido(segundo.getId()));
+
+        // O cliente muda de endereço: as vendas já contabilizadas ficam na região em que foram feitas
+        cliente.setCidade("Mudançópolis");
+        cliente.setUf("RO");
+        clienteRepository.save(cliente);
+
+        // A reconstrução em lote chega aos mesmos números
+        relatorioVendasService.reconstruir();
+        assertEquals(new BigDecimal("400.00"), produto(teclado).get().receita());
+        assertEquals(new BigDecimal("1300.00"), regiao().get().receita());
+
+        // Cancelar um pedido finalizado estorna a venda
+        pedidoService.cancelarPedido(primeiro.getId());
+        assertEquals(new VendaProdutoDTO(teclado.getId(), "Teclado Relatório", new BigDecimal("100.00"), 1L, 1L),
+                produto(teclado).get());
+        assertTrue(produto(monitor).isEmpty());
+        assertEquals(new VendaRegiaoDTO("RR", "Relatópolis", new BigDecimal("100.00"), 1L, 1L),
+                regiao().get());
+        assertTrue(hoje().porRegiao().stream().noneMatch(v -> v.cidade().equals("Mudançópolis")));
+    }
+
+    private RelatorioVendasDTO hoje() {
+        return relatorioVendasService.gerar(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+    }
+
+    private Optional<VendaProdutoDTO> produto(Produto produto) {
+        return hoje().porProduto().stream().filter(v -> v.produtoId().equals(produto.getId())).findFirst();
+    }
+
+    private Optional<VendaRegiaoDTO> regiao() {
+        return hoje().porRegiao().stream().filter(v -> v.cidade().equals("Relatópolis")).findFirst();
+    }
+
+    private Produto novoProduto(String nome, String preco) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setDescricao(nome);
+        produto.setPreco(new BigDecimal(preco));
+        produto.setQuantidadeEmEstoque(100);
+        return produtoRepository.save(produto);
+    }
+
+    private Cliente novoCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Relatório");
+        cliente.setEmail("relatorio@teste.com");
+        cliente.setCpf("31415926590");
+        cliente.setTelefone("95999999999");
+        cliente.setLogradouro("Rua E");
+        cliente.setBairro("Centro");
+        cliente.setCidade("Relatópolis");
+        cliente.setUf("RR");
+        cliente.setCep("69300000");
+        return cliente;
+    }
+}
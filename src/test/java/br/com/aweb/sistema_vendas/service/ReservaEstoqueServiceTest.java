@@ -0,0 +1,217 @@
+package br.com.aweb.sistema_vendas.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import br.com.aweb.sistema_vendas.config.CacheConfig;
+import br.com.aweb.sistema_vendas.model.Cliente;
+import br.com.aweb.sistema_vendas.model.Pedido;
+import br.com.aweb.sistema_vendas.model.Produto;
+import br.com.aweb.sistema_vendas.repository.ClienteRepository;
+import br.com.aweb.sistema_vendas.repository.ProdutoRepository;
+
+@SpringBootTest
+class ReservaEstoqueServiceTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private ReservaEstoqueService reservaEstoqueService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void reservasConcorrentesNaoVendemAlemDoEstoque() throws Exception {
+        Produto produto = novoProduto(100);
+
+        AtomicInteger rejeitadas = new AtomicInteger();
+        int sucesso = executarConcorrente(500, i -> {
+            try {
+                reservaEstoqueService.reservar(produto.getId(), 1);
+                return true;
+            } catch (IllegalStateException e) {
+                rejeitadas.incrementAndGet();
+                return false;
+            }
+        });
+
+        assertEquals(100, sucesso);
+        assertEquals(400, rejeitadas.get());
+        assertEquals(0, produtoRepository.findById(produto.getId()).get().getQuantidadeEmEstoque());
+    }
+
+    @Test
+    void reservaEmLoteSemSaldoNaoBaixaNenhumProduto() {
+        Produto comSaldo = novoProduto(10);
+        Produto semSaldo = novoProduto(1);
+
+        assertThrows(IllegalStateException.class,
+                () -> reservaEstoqueService.reservarEmLote(Map.of(comSaldo.getId(), 5, semSaldo.getId(), 2)));
+
+        assertEquals(10, produtoRepository.findById(comSaldo.getId()).get().getQuantidadeEmEstoque());
+        assertEquals(1, produtoRepository.findById(semSaldo.getId()).get().getQuantidadeEmEstoque());
+    }
+
+    @Test
+    void adicionarItemConcorrenteNaoVendeAlemDoEstoque() throws Exception {
+        Produto produto = novoProduto(50);
+        Cliente cliente = clienteRepository.save(novoCliente("estoque@teste.com", "52998224725"));
+
+        // Um pedido por requisição, todos disputando o mesmo produto
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            pedidos.add(pedidoService.criarPedido(cliente));
+        }
+
+        int sucesso = executarConcorrente(pedidos.size(), i -> {
+            try {
+                pedidoService.adicionarItem(pedidos.get(i).getId(), produto.getId(), 1);
+                return true;
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        });
+
+        assertEquals(50, sucesso);
+        assertEquals(0, produtoRepository.findById(produto.getId()).get().getQuantidadeEmEstoque());
+    }
+
+    @Test
+    void devolverRecompoeEstoque() {
+        Produto produto = novoProduto(10);
+
+        reservaEstoqueService.reservar(produto.getId(), 7);
+        reservaEstoqueService.devolver(produto.getId(), 3);
+
+        assertEquals(6, produtoRepository.findById(produto.getId()).get().getQuantidadeEmEstoque());
+    }
+
+    @Test
+    void cancelarPedidoDevolveEstoqueDeTodosOsItens() {
+        Produto produtoA = novoProduto(100);
+        Produto produtoB = novoProduto(100);
+        Cliente cliente = clienteRepository.save(novoCliente("cancelamento@teste.com", "11144477735"));
+        Pedido pedido = pedidoService.criarPedido(cliente);
+
+        // Várias linhas do mesmo produto são somadas antes da devolução
+        for (int i = 0; i < 3; i++) {
+            pedidoService.adicionarItem(pedido.getId(), produtoA.getId(), 2);
+        }
+        pedidoService.adicionarItem(pedido.getId(), produtoB.getId(), 5);
+
+        pedidoService.cancelarPedido(pedido.getId());
+
+        assertEquals(100, produtoRepository.findById(produtoA.getId()).get().getQuantidadeEmEstoque());
+        assertEquals(100, produtoRepository.findById(produtoB.getId()).get().getQuantidadeEmEstoque());
+    }
+
+    @Test
+    void reservaInvalidaNoCacheSoOProdutoReservado() {
+        Produto reservado = produtoService.salvar(novoProdutoSemSalvar(10));
+        Produto outro = produtoService.salvar(novoProdutoSemSalvar(10));
+        produtoService.listarTodos();
+
+        Cache produtos = cacheManager.getCache(CacheConfig.PRODUTOS);
+        assertNotNull(produtos.get(reservado.getId()));
+        assertNotNull(produtos.get(outro.getId()));
+
+        reservaEstoqueService.reservar(reservado.getId(), 3);
+
+        assertNull(produtos.get(reservado.getId()));
+        assertNotNull(produtos.get(outro.getId()));
+        assertNotNull(cacheManager.getCache(CacheConfig.CATALOGO_PRODUTOS).get(SimpleKey.EMPTY));
+        assertEquals(7, produtoService.listarTodos().stream()
+                .filter(reservado::equals).findFirst().get().getQuantidadeEmEstoque());
+    }
+
+    private interface Tarefa {
+        boolean executar(int indice);
+    }
+
+    // Dispara todas as tarefas ao mesmo tempo e retorna quantas tiveram sucesso
+    private int executarConcorrente(int total, Tarefa tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int i = 0; i < total; i++) {
+                int indice = i;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return tarefa.executar(indice);
+                }));
+            }
+            largada.countDown();
+
+            int sucesso = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(60, TimeUnit.SECONDS)) {
+                    sucesso++;
+                }
+            }
+            return sucesso;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Produto novoProduto(int estoque) {
+        return produtoRepository.save(novoProdutoSemSalvar(estoque));
+    }
+
+    private Produto novoProdutoSemSalvar(int estoque) {
+        Produto produto = new Produto();
+        produto.setNome("Produto concorrido");
+        produto.setDescricao("Produto usado no teste de concorrência");
+        produto.setPreco(new BigDecimal("10.00"));
+        produto.setQuantidadeEmEstoque(estoque);
+        return produto;
+    }
+
+    private Cliente novoCliente(String email, String cpf) {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Teste");
+        cliente.setEmail(email);
+        cliente.setCpf(cpf);
+        cliente.setTelefone("11999999999");
+        cliente.setLogradouro("Rua A");
+        cliente.setBairro("Centro");
+        cliente.setCidade("São Paulo");
+        cliente.setUf("SP");
+        cliente.setCep("01000000");
+        return cliente;
+    }
+}
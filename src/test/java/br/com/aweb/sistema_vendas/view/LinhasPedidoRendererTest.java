@@ -0,0 +1,81 @@
+package br.com.aweb.sistema_vendas.view;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.aweb.sistema_vendas.dto.PedidoResumoDTO;
+import br.com.aweb.sistema_vendas.model.StatusPedido;
+
+@SpringBootTest
+class LinhasPedidoRendererTest {
+
+    @Autowired
+    private LinhasPedidoRenderer renderer;
+
+    @Test
+    void renderizaLinhasECacheiaPedidosEncerrados() {
+        LocalDateTime data = LocalDateTime.of(2024, 3, 5, 14, 30);
+        PedidoResumoDTO ativo = new PedidoResumoDTO(9001L, "Ana", data, new BigDecimal("1234.5"), StatusPedido.ATIVO, 3L);
+        PedidoResumoDTO finalizado = new PedidoResumoDTO(9002L, "Bia", data, BigDecimal.TEN, StatusPedido.FINALIZADO, 4L);
+
+        List<String> primeira = renderizar(ativo, finalizado);
+        List<String> segunda = renderizar(ativo, finalizado);
+
+        assertTrue(primeira.get(0).contains("05/03/2024 14:30"));
+        assertTrue(primeira.get(0).contains("R$"));
+        assertTrue(primeira.get(0).contains("/pedidos/edit/9001"));
+        assertTrue(primeira.get(1).contains("badge bg-primary"));
+        assertFalse(primeira.get(1).contains("/pedidos/edit/9002"));
+
+        // Pedido ativo é sempre renderizado de novo; o finalizado sai do cache
+        assertNotSame(primeira.get(0), segunda.get(0));
+        assertSame(primeira.get(1), segunda.get(1));
+
+        // Cliente renomeado: mesma version do pedido, mas a linha é refeita
+        PedidoResumoDTO renomeado = new PedidoResumoDTO(9002L, "Beatriz", data, BigDecimal.TEN, StatusPedido.FINALIZADO, 4L);
+        assertTrue(renderizar(renomeado).get(0).contains("Beatriz"));
+    }
+
+    @Test
+    void linhaEmCacheNaoLevaASessaoDeQuemARenderizou() {
+        LocalDateTime data = LocalDateTime.of(2024, 3, 5, 14, 30);
+        PedidoResumoDTO ativo = new PedidoResumoDTO(9011L, "Caio", data, BigDecimal.ONE, StatusPedido.ATIVO, 1L);
+        PedidoResumoDTO cancelado = new PedidoResumoDTO(9012L, "Davi", data, BigDecimal.ONE, StatusPedido.CANCELADO, 2L);
+
+        // Sessão rastreada pela URL (navegador sem cookies)
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public String encodeURL(String url) {
+                return url + ";jsessionid=SESSAO-A";
+            }
+        };
+        List<String> linhas = renderer.renderizar(List.of(ativo, cancelado), requisicao(), response);
+
+        assertTrue(linhas.get(0).contains("/pedidos/edit/9011;jsessionid=SESSAO-A"));
+        assertTrue(linhas.get(1).contains("/pedidos/detalhes/9012"));
+        assertFalse(linhas.get(1).contains("jsessionid"));
+    }
+
+    private List<String> renderizar(PedidoResumoDTO... pedidos) {
+        return renderer.renderizar(List.of(pedidos), requisicao(), new MockHttpServletResponse());
+    }
+
+    private MockHttpServletRequest requisicao() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pedidos");
+        request.addPreferredLocale(Locale.forLanguageTag("pt-BR"));
+        return request;
+    }
+}